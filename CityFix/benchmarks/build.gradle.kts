@@ -0,0 +1,43 @@
+plugins {
+    id("java")
+    id("me.champeau.jmh") version "0.7.2"
+}
+
+group = "org.example"
+version = "1.0-SNAPSHOT"
+java.sourceCompatibility = JavaVersion.VERSION_17
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    // Services under test (plain jars, not the Boot fat jars)
+    jmh(project(":CityFix:user-service"))
+    jmh(project(":CityFix:report-service"))
+    jmh(project(":CityFix:log-service"))
+
+    // Same versions as the services
+    jmh(platform("org.springframework.boot:spring-boot-dependencies:3.2.0"))
+    jmh("org.springframework.security:spring-security-crypto")
+    jmh("org.springframework.amqp:spring-rabbit")
+    jmh("com.fasterxml.jackson.core:jackson-databind")
+    jmh("com.fasterxml.jackson.datatype:jackson-datatype-jsr310:2.15.2")
+    jmh("io.jsonwebtoken:jjwt-api:0.12.3")
+    jmhRuntimeOnly("io.jsonwebtoken:jjwt-impl:0.12.3")
+    jmhRuntimeOnly("io.jsonwebtoken:jjwt-jackson:0.12.3")
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    timeOnIteration.set("2s")
+    warmup.set("2s")
+    // Benchmarks to run, e.g. ./gradlew :CityFix:benchmarks:jmh -Pjmh.includes=Jwt
+    (project.findProperty("jmh.includes") as String?)?.let { includes.set(listOf(it)) }
+    resultFormat.set("JSON")
+    // One file per version so releases can be diffed (e.g. with jmh.morethan.io)
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results-${project.version}.json"))
+}
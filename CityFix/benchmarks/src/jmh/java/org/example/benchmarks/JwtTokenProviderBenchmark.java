@@ -0,0 +1,53 @@
+package org.example.benchmarks;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.example.userservice.security.JwtTokenProvider;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue (login) and validation (every authenticated request). validateToken
+ * measures a verified-token cache hit; verifySignature runs the same parser the provider
+ * uses on a cache miss, i.e. a full HMAC verification and claims parse.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtTokenProviderBenchmark {
+    private static final String SECRET =
+            "benchmark-secret-key-at-least-512-bits-long-for-hs512-signatures-0123456789abcdef";
+
+    private JwtTokenProvider jwtTokenProvider;
+    private JwtParser parser;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtTokenProvider = new JwtTokenProvider(SECRET, 86_400_000L, 10_000L);
+        // A size-0 cache is no baseline: Caffeine evicts asynchronously, so hits still happen
+        parser = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build();
+        token = jwtTokenProvider.generateToken("benchmark-user", 42L);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtTokenProvider.generateToken("benchmark-user", 42L);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtTokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public Claims verifySignature() {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+}
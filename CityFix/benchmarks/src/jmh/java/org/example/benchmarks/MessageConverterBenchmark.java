@@ -0,0 +1,107 @@
+package org.example.benchmarks;
+
+import org.example.reportservice.dto.ReportResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON encoding through the Jackson2JsonMessageConverter each service builds in its
+ * RabbitMQConfig: AuditEvent publishing in user-service and report-service, AuditEvent
+ * decoding in log-service and ReportResponse lists in report-service.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MessageConverterBenchmark {
+
+    @Param({"20", "100"})
+    public int reportCount;
+
+    private MessageConverter userServiceConverter;
+    private MessageConverter reportServiceConverter;
+    private MessageConverter logServiceConverter;
+
+    private org.example.userservice.event.AuditEvent userAuditEvent;
+    private org.example.reportservice.event.AuditEvent reportAuditEvent;
+    private List<ReportResponse> reports;
+    private Message auditMessageForLogService;
+
+    @Setup
+    public void setUp() {
+        userServiceConverter = new org.example.userservice.config.RabbitMQConfig().messageConverter();
+        reportServiceConverter = new org.example.reportservice.config.RabbitMQConfig().messageConverter();
+        logServiceConverter = new org.example.logservice.config.RabbitMQConfig().messageConverter();
+
+        LocalDateTime now = LocalDateTime.now();
+        userAuditEvent = org.example.userservice.event.AuditEvent.builder()
+                .eventType("USER")
+                .userId(1L)
+                .username("testuser")
+                .entityType("User")
+                .entityId(1L)
+                .action("login")
+                .details("User logged in: testuser")
+                .timestamp(now)
+                .build();
+        reportAuditEvent = org.example.reportservice.event.AuditEvent.builder()
+                .eventType("REPORT")
+                .userId(1L)
+                .entityType("Report")
+                .entityId(1L)
+                .action("report.create")
+                .details("Report created: Pothole on Main Street")
+                .timestamp(now)
+                .build();
+
+        reports = new ArrayList<>(reportCount);
+        for (int i = 0; i < reportCount; i++) {
+            reports.add(ReportResponse.builder()
+                    .id((long) i)
+                    .userId(1L)
+                    .title("Pothole on Main Street #" + i)
+                    .description("Large pothole causing traffic issues near the crossing")
+                    .status("OPEN")
+                    .category("ROAD_DAMAGE")
+                    .priority("HIGH")
+                    .latitude(52.2297)
+                    .longitude(21.0122)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+        }
+
+        // As received by log-service: a user-service body, type header mapped to its own class
+        auditMessageForLogService = userServiceConverter.toMessage(userAuditEvent, new MessageProperties());
+        auditMessageForLogService.getMessageProperties().setHeader(
+                AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME,
+                org.example.logservice.event.AuditEvent.class.getName());
+    }
+
+    @Benchmark
+    public Message userServiceAuditEvent() {
+        return userServiceConverter.toMessage(userAuditEvent, new MessageProperties());
+    }
+
+    @Benchmark
+    public Message reportServiceAuditEvent() {
+        return reportServiceConverter.toMessage(reportAuditEvent, new MessageProperties());
+    }
+
+    @Benchmark
+    public Object logServiceDecodeAuditEvent() {
+        return logServiceConverter.fromMessage(auditMessageForLogService);
+    }
+
+    @Benchmark
+    public Message reportResponseList() {
+        return reportServiceConverter.toMessage(reports, new MessageProperties());
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.reportservice.service;
+
+import org.example.reportservice.dto.ReportResponse;
+import org.example.reportservice.entity.Report;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Entity to DTO mapping used by every read endpoint. Lives in ReportService's package
+ * because mapToResponse is package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ReportMappingBenchmark {
+
+    @Param({"1", "20", "100"})
+    public int size;
+
+    private List<Report> reports;
+
+    @Setup
+    public void setUp() {
+        reports = new ArrayList<>(size);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < size; i++) {
+            reports.add(Report.builder()
+                    .id((long) i)
+                    .userId(1L)
+                    .title("Pothole on Main Street #" + i)
+                    .description("Large pothole causing traffic issues near the crossing")
+                    .status("OPEN")
+                    .category("ROAD_DAMAGE")
+                    .priority("HIGH")
+                    .latitude(52.2297 + i * 0.0001)
+                    .longitude(21.0122 + i * 0.0001)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public List<ReportResponse> mapToResponse() {
+        return reports.stream().map(ReportService::mapToResponse).collect(Collectors.toList());
+    }
+}
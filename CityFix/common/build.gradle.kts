@@ -0,0 +1,35 @@
+plugins {
+    id("java-library")
+}
+
+group = "org.example"
+version = "1.0-SNAPSHOT"
+java.sourceCompatibility = JavaVersion.VERSION_17
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    // Provided by the services at runtime; same versions as theirs
+    compileOnly(platform("org.springframework.boot:spring-boot-dependencies:3.2.0"))
+    compileOnly("org.springframework.boot:spring-boot-autoconfigure")
+    compileOnly("org.springframework:spring-jdbc")
+    compileOnly("io.micrometer:micrometer-core")
+    compileOnly("com.zaxxer:HikariCP")
+    compileOnly("org.slf4j:slf4j-api")
+
+    // Lombok
+    compileOnly("org.projectlombok:lombok")
+    annotationProcessor(platform("org.springframework.boot:spring-boot-dependencies:3.2.0"))
+    annotationProcessor("org.projectlombok:lombok")
+
+    // Testing
+    testImplementation(platform("org.springframework.boot:spring-boot-dependencies:3.2.0"))
+    testImplementation("org.springframework.boot:spring-boot-starter-test")
+    testImplementation("org.springframework:spring-jdbc")
+}
+
+tasks.test {
+    useJUnitPlatform()
+}
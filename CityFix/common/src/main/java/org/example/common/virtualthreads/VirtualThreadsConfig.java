@@ -0,0 +1,82 @@
+package org.example.common.virtualthreads;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Extras for spring.threads.virtual.enabled=true (requires a Java 21 runtime). Boot then
+ * runs Tomcat requests, @Scheduled tasks and Rabbit listener containers on virtual
+ * threads; this adds the guard that keeps concurrent JDBC work at the pool size and the
+ * pinning diagnostics.
+ * <p>
+ * Registered as an auto-configuration, so every service with this module on its classpath
+ * picks it up without scanning org.example.common.
+ */
+@Slf4j
+@AutoConfiguration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    @Bean
+    public static BeanPostProcessor dbConcurrencyGuard(Environment environment) {
+        int configuredPermits = environment.getProperty("db.concurrency.max-permits", Integer.class, 0);
+        Duration acquireTimeout = environment.getProperty("db.concurrency.acquire-timeout", Duration.class,
+                Duration.ofSeconds(30));
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConcurrencyLimitedDataSource) {
+                    return bean;
+                }
+                // 0 = match the Hikari pool, so waiting happens here rather than inside the pool
+                int permits = configuredPermits > 0 ? configuredPermits
+                        : bean instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : 10;
+                log.info("Limiting concurrent database access on '{}' to {} connections", beanName, permits);
+                return new ConcurrencyLimitedDataSource(dataSource, permits, acquireTimeout);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder dbConcurrencyMetrics(DataSource dataSource) {
+        return registry -> {
+            ConcurrencyLimitedDataSource guard;
+            try {
+                guard = dataSource.unwrap(ConcurrencyLimitedDataSource.class);
+            } catch (SQLException e) {
+                return;
+            }
+            Gauge.builder("db.concurrency.permits.available", guard, ConcurrencyLimitedDataSource::getAvailablePermits)
+                    .description("Database permits currently free")
+                    .register(registry);
+            Gauge.builder("db.concurrency.waiting", guard, ConcurrencyLimitedDataSource::getQueueLength)
+                    .description("Threads waiting for a database permit")
+                    .register(registry);
+            FunctionCounter.builder("db.concurrency.rejected", guard, ConcurrencyLimitedDataSource::getRejectedCount)
+                    .description("Requests that gave up waiting for a database permit")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "diagnostics.virtual-threads.pinning.enabled", havingValue = "true", matchIfMissing = true)
+    public PinnedThreadMonitor pinnedThreadMonitor(MeterRegistry meterRegistry, Environment environment) {
+        return new PinnedThreadMonitor(meterRegistry,
+                environment.getProperty("diagnostics.virtual-threads.pinning.threshold", Duration.class,
+                        Duration.ofMillis(20)));
+    }
+}
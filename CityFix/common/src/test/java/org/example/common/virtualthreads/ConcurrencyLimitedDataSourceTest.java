@@ -0,0 +1,116 @@
+package org.example.common.virtualthreads;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConcurrencyLimitedDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    private ConcurrencyLimitedDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new ConcurrencyLimitedDataSource(target, 1, Duration.ofMillis(50));
+    }
+
+    @Test
+    void testPermitHeldUntilConnectionClosed() throws Exception {
+        when(target.getConnection()).thenReturn(connection);
+
+        Connection first = dataSource.getConnection();
+        assertEquals(0, dataSource.getAvailablePermits());
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        assertEquals(1, dataSource.getRejectedCount());
+
+        first.close();
+        verify(connection).close();
+        assertEquals(1, dataSource.getAvailablePermits());
+
+        dataSource.getConnection().close();
+        assertEquals(1, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    void testDoubleCloseReleasesOnce() throws Exception {
+        when(target.getConnection()).thenReturn(connection);
+
+        Connection first = dataSource.getConnection();
+        first.close();
+        first.close();
+
+        assertEquals(1, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    void testPermitReleasedWhenPoolFails() throws Exception {
+        when(target.getConnection()).thenThrow(new SQLException("pool exhausted"));
+
+        assertThrows(SQLException.class, dataSource::getConnection);
+
+        assertEquals(1, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    void testProxyHasItsOwnIdentity() throws Exception {
+        when(target.getConnection()).thenReturn(connection);
+
+        Connection wrapped = dataSource.getConnection();
+
+        assertEquals(wrapped, wrapped);
+        assertNotEquals(wrapped, connection);
+        assertEquals(System.identityHashCode(wrapped), wrapped.hashCode());
+    }
+
+    @Test
+    void testUnwrapToConnectionKeepsPermitRelease() throws Exception {
+        when(target.getConnection()).thenReturn(connection);
+
+        Connection wrapped = dataSource.getConnection();
+        Connection unwrapped = wrapped.unwrap(Connection.class);
+
+        assertSame(wrapped, unwrapped);
+        assertTrue(wrapped.isWrapperFor(Connection.class));
+        verify(connection, never()).unwrap(any());
+        unwrapped.close();
+        assertEquals(1, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    void testUnwrapToDriverInterfaceIsDelegated() throws Exception {
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.unwrap(Runnable.class)).thenReturn(() -> { });
+
+        assertNotNull(dataSource.getConnection().unwrap(Runnable.class));
+        verify(connection).unwrap(Runnable.class);
+    }
+
+    @Test
+    void testCallsDelegatedToConnection() throws Exception {
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.getAutoCommit()).thenReturn(true);
+
+        Connection wrapped = dataSource.getConnection();
+
+        assertTrue(wrapped.getAutoCommit());
+        verify(connection).getAutoCommit();
+    }
+}
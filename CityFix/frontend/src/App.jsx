@@ -1,4 +1,4 @@
-import React, { useMemo, useState } from "react";
+import React, { useState } from "react";
 import { Link, Route, Routes, useLocation, useNavigate } from "react-router-dom";
 import {
   MapContainer,
@@ -21,6 +21,7 @@ L.Icon.Default.mergeOptions({
 });
 
 const API_BASE = import.meta.env.VITE_API_BASE || "http://localhost:8080/api";
+const REPORTS_PAGE_SIZE = 50;
 
 const apiRequest = async (path, options = {}) => {
   const url = `${API_BASE}${path}`;
@@ -82,52 +83,70 @@ const Header = ({ onLogout, isLoggedIn }) => {
   );
 };
 
-const FitBounds = ({ points }) => {
+// bbox for GET /reports/map: minLon,minLat,maxLon,maxLat, clamped to valid coordinates
+const toBbox = (bounds) =>
+  [
+    Math.max(-180, bounds.getWest()),
+    Math.max(-90, bounds.getSouth()),
+    Math.min(180, bounds.getEast()),
+    Math.min(90, bounds.getNorth()),
+  ]
+    .map((value) => value.toFixed(5))
+    .join(",");
+
+// Loads markers for the visible area, again after every pan/zoom and when refreshKey changes
+const MarkerLoader = ({ onMarkers, refreshKey }) => {
   const map = useMap();
-  useMemo(() => {
-    if (!points.length) {
-      return;
+  const loadMarkers = React.useCallback(async () => {
+    try {
+      const result = await apiRequest(`/reports/map?bbox=${toBbox(map.getBounds())}`);
+      onMarkers(result || { items: [], truncated: false });
+    } catch (error) {
     }
-    map.fitBounds(points, { padding: [40, 40] });
-  }, [points, map]);
+  }, [map, onMarkers]);
+
+  useMapEvents({ moveend: loadMarkers });
+  React.useEffect(() => {
+    loadMarkers();
+  }, [loadMarkers, refreshKey]);
   return null;
 };
 
-const ReportsMap = ({ reports }) => {
-  const points = useMemo(
-    () =>
-      reports
-        .filter((report) => typeof report.latitude === "number" && typeof report.longitude === "number")
-        .map((report) => [report.latitude, report.longitude]),
-    [reports],
-  );
+const ReportsMap = ({ refreshKey }) => {
+  const [markers, setMarkers] = useState([]);
+  const [truncated, setTruncated] = useState(false);
+  const handleMarkers = React.useCallback((result) => {
+    setMarkers(result.items || []);
+    setTruncated(Boolean(result.truncated));
+  }, []);
 
   return (
-    <MapContainer center={[52.2297, 21.0122]} zoom={6} className="map map-large">
-      <TileLayer
-        attribution='&copy; <a href="https://www.openstreetmap.org/copyright">OpenStreetMap</a>'
-        url="https://{s}.tile.openstreetmap.org/{z}/{x}/{y}.png"
-      />
-      {reports.map((report) => {
-        if (typeof report.latitude !== "number" || typeof report.longitude !== "number") {
-          return null;
-        }
-        const title = report.title || "Zgłoszenie";
-        const meta = [report.status ? `Status: ${report.status}` : null, report.category ? `Kategoria: ${report.category}` : null]
-          .filter(Boolean)
-          .join(" · ");
-        return (
-          <Marker key={report.id} position={[report.latitude, report.longitude]}>
-            <Popup>
-              <strong>{title}</strong>
-              <br />
-              {meta || "Brak szczegółów"}
-            </Popup>
-          </Marker>
-        );
-      })}
-      <FitBounds points={points} />
-    </MapContainer>
+    <>
+      <MapContainer center={[52.2297, 21.0122]} zoom={6} className="map map-large">
+        <TileLayer
+          attribution='&copy; <a href="https://www.openstreetmap.org/copyright">OpenStreetMap</a>'
+          url="https://{s}.tile.openstreetmap.org/{z}/{x}/{y}.png"
+        />
+        {markers.map((marker) => {
+          const meta = [marker.status ? `Status: ${marker.status}` : null, marker.category ? `Kategoria: ${marker.category}` : null]
+            .filter(Boolean)
+            .join(" · ");
+          return (
+            <Marker key={marker.id} position={[marker.latitude, marker.longitude]}>
+              <Popup>
+                <strong>Zgłoszenie #{marker.id}</strong>
+                <br />
+                {meta || "Brak szczegółów"}
+              </Popup>
+            </Marker>
+          );
+        })}
+        <MarkerLoader onMarkers={handleMarkers} refreshKey={refreshKey} />
+      </MapContainer>
+      {truncated ? (
+        <div className="note">Widoczne są tylko najnowsze zgłoszenia z tego obszaru. Przybliż mapę, aby zobaczyć wszystkie.</div>
+      ) : null}
+    </>
   );
 };
 
@@ -163,6 +182,8 @@ const CreateMapPicker = ({ value, onChange }) => {
 
 const Home = ({ currentUser, onRefreshUser }) => {
   const [reports, setReports] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [mapRefreshKey, setMapRefreshKey] = useState(0);
   const [createForm, setCreateForm] = useState({
     title: "",
     description: "",
@@ -185,10 +206,27 @@ const Home = ({ currentUser, onRefreshUser }) => {
   const [deleteId, setDeleteId] = useState("");
   const updateFormRef = React.useRef(null);
 
+  // Reloads the first page (dropping pages fetched with "load more") and the map markers
   const loadReports = async () => {
+    setMapRefreshKey((key) => key + 1);
+    try {
+      const result = await apiRequest(`/reports?size=${REPORTS_PAGE_SIZE}`);
+      setReports(result?.items || []);
+      setNextCursor(result?.nextCursor || null);
+    } catch (error) {
+    }
+  };
+
+  const loadMoreReports = async () => {
+    if (!nextCursor) {
+      return;
+    }
     try {
-      const result = await apiRequest("/reports");
-      setReports(result || []);
+      const result = await apiRequest(
+        `/reports?size=${REPORTS_PAGE_SIZE}&cursor=${encodeURIComponent(nextCursor)}`,
+      );
+      setReports((current) => [...current, ...(result?.items || [])]);
+      setNextCursor(result?.nextCursor || null);
     } catch (error) {
     }
   };
@@ -296,6 +334,13 @@ const Home = ({ currentUser, onRefreshUser }) => {
               ))
             )}
           </div>
+          {nextCursor ? (
+            <div className="actions">
+              <button type="button" onClick={loadMoreReports}>
+                Załaduj więcej
+              </button>
+            </div>
+          ) : null}
         </article>
       </section>
 
@@ -306,7 +351,7 @@ const Home = ({ currentUser, onRefreshUser }) => {
             Dane mapy © <a href="https://www.openstreetmap.org/copyright">OpenStreetMap</a>
           </div>
         </div>
-        <ReportsMap reports={reports} />
+        <ReportsMap refreshKey={mapRefreshKey} />
       </section>
 
       <section className="grid grid-2">
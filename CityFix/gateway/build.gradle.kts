@@ -17,6 +17,18 @@ dependencies {
     implementation("org.springframework.cloud:spring-cloud-starter-gateway:4.0.7")
     implementation("org.springframework.boot:spring-boot-starter-webflux")
 
+    // Resilience (circuit breakers, bulkheads)
+    implementation("org.springframework.cloud:spring-cloud-starter-circuitbreaker-reactor-resilience4j")
+    implementation("io.github.resilience4j:resilience4j-spring-boot3:2.1.0")
+    implementation("io.github.resilience4j:resilience4j-bulkhead:2.1.0")
+    implementation("io.github.resilience4j:resilience4j-micrometer:2.1.0")
+
+    // Messaging (response cache invalidation)
+    implementation("org.springframework.boot:spring-boot-starter-amqp")
+
+    // In-process caching
+    implementation("com.github.ben-manes.caffeine:caffeine")
+
     // Security
     implementation("org.springframework.boot:spring-boot-starter-security")
     implementation("org.springframework.security:spring-security-oauth2-client")
@@ -28,6 +40,15 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-actuator")
     implementation("io.micrometer:micrometer-registry-prometheus")
 
+    // JWT (rate-limit keys)
+    implementation("io.jsonwebtoken:jjwt-api:0.12.3")
+    runtimeOnly("io.jsonwebtoken:jjwt-impl:0.12.3")
+    runtimeOnly("io.jsonwebtoken:jjwt-jackson:0.12.3")
+
+    // Lombok
+    compileOnly("org.projectlombok:lombok")
+    annotationProcessor("org.projectlombok:lombok")
+
     // Testing
     testImplementation("org.springframework.boot:spring-boot-starter-test")
 }
@@ -0,0 +1,9 @@
+package org.example.gateway.cache;
+
+import org.springframework.http.MediaType;
+
+/**
+ * A 200 response body kept by the gateway together with its validator.
+ */
+public record CachedResponse(byte[] body, MediaType contentType, String etag) {
+}
@@ -0,0 +1,98 @@
+package org.example.gateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One bounded response cache per gateway route. Each route carries a generation
+ * number bumped on every invalidation, so a response fetched before an
+ * invalidation is never stored after it.
+ */
+@Slf4j
+@Component
+public class GatewayResponseCache {
+    public static final String CACHE_NAME = "gateway.responses";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, RouteCache> routes = new ConcurrentHashMap<>();
+
+    @Autowired
+    public GatewayResponseCache(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public static final class RouteCache {
+        private final Cache<String, CachedResponse> entries;
+        private final AtomicLong generation = new AtomicLong();
+
+        private RouteCache(Cache<String, CachedResponse> entries) {
+            this.entries = entries;
+        }
+
+        public CachedResponse get(String key) {
+            return entries.getIfPresent(key);
+        }
+
+        public long generation() {
+            return generation.get();
+        }
+
+        /**
+         * Stores the response unless the route was invalidated since {@code generation}
+         * was read; the re-check after put closes the race with a concurrent invalidation.
+         */
+        public boolean put(String key, CachedResponse response, long generation) {
+            if (this.generation.get() != generation) {
+                return false;
+            }
+            entries.put(key, response);
+            if (this.generation.get() != generation) {
+                entries.invalidate(key);
+                return false;
+            }
+            return true;
+        }
+
+        private void invalidate() {
+            generation.incrementAndGet();
+            entries.invalidateAll();
+        }
+    }
+
+    /**
+     * Cache of the given route, created on first use with the route's filter settings.
+     */
+    public RouteCache route(String routeId, long maxSize, Duration ttl) {
+        return routes.computeIfAbsent(routeId, id -> {
+            Cache<String, CachedResponse> entries = Caffeine.newBuilder()
+                    .maximumSize(maxSize)
+                    .expireAfterWrite(ttl)
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, entries, CACHE_NAME, Tags.of("route", id));
+            log.info("Response cache enabled for route {} (max {} entries, ttl {})", id, maxSize, ttl);
+            return new RouteCache(entries);
+        });
+    }
+
+    public void invalidateRoute(String routeId, String source) {
+        RouteCache cache = routes.get(routeId);
+        if (cache == null) {
+            return;
+        }
+        cache.invalidate();
+        meterRegistry.counter("gateway.response.cache.invalidations", "route", routeId, "source", source).increment();
+        log.debug("Invalidated response cache of route {} ({})", routeId, source);
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.gateway.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.listener.AsyncConsumerStartedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Clears the cached responses of the report routes on every report event
+ * (report.created, report.invalidated, ...). List and map queries can change with any
+ * report, so the whole route is dropped rather than single entries.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "gateway.response-cache.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+public class ReportEventsCacheInvalidator {
+    private final GatewayResponseCache responseCache;
+
+    @Value("${gateway.response-cache.invalidation.routes:report-service}")
+    private List<String> routes = List.of("report-service");
+
+    @Autowired
+    public ReportEventsCacheInvalidator(GatewayResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    @RabbitListener(queues = "#{responseCacheInvalidationQueue.name}")
+    public void onReportEvent(Message message) {
+        log.debug("Report event {} received, invalidating {}",
+                message.getMessageProperties().getReceivedRoutingKey(), routes);
+        routes.forEach(route -> responseCache.invalidateRoute(route, "event"));
+    }
+
+    /**
+     * Events published while the consumer was disconnected are lost with the
+     * auto-delete queue, so start from an empty cache after every (re)connect.
+     */
+    @EventListener(AsyncConsumerStartedEvent.class)
+    public void onConsumerStarted() {
+        routes.forEach(route -> responseCache.invalidateRoute(route, "reconnect"));
+    }
+}
@@ -0,0 +1,269 @@
+package org.example.gateway.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches 200 responses to GET requests per route and answers If-None-Match with 304.
+ * Responses get a strong ETag (the downstream one if present, otherwise a SHA-256 of
+ * the body). A successful non-GET request on the same route clears the route's cache
+ * before its response is committed, so a GET sent once the client sees the write
+ * cannot be answered from the old entry; other writers are covered by {@link ReportEventsCacheInvalidator}.
+ * <p>
+ * Only for routes whose GET responses do not depend on the caller: the key is the
+ * request path and query.
+ */
+@Slf4j
+@Component
+public class ResponseCacheGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+    static final String X_CACHE = "X-Cache";
+
+    private final GatewayResponseCache responseCache;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public ResponseCacheGatewayFilterFactory(GatewayResponseCache responseCache, MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.responseCache = responseCache;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Data
+    public static class Config {
+        private Duration ttl = Duration.ofSeconds(30);
+        private long maxSize = 1000;
+        /** Larger bodies are streamed through without being cached. */
+        private int maxBodyBytes = 1024 * 1024;
+        /** Path patterns (before rewriting) that are never cached, e.g. streaming exports. */
+        private List<String> excludePaths = new ArrayList<>();
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        List<PathPattern> excluded = config.getExcludePaths().stream()
+                .map(String::trim)
+                .filter(path -> !path.isEmpty())
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+
+        // Must wrap the response before NettyWriteResponseFilter writes the body
+        return new OrderedGatewayFilter((exchange, chain) -> filter(exchange, chain, config, excluded),
+                NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+    }
+
+    private Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain,
+                              Config config, List<PathPattern> excluded) {
+        ServerHttpRequest request = exchange.getRequest();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null || excluded.stream().anyMatch(p -> p.matches(request.getPath().pathWithinApplication()))) {
+            return chain.filter(exchange);
+        }
+        String routeId = route.getId();
+
+        HttpMethod method = request.getMethod();
+        if (!HttpMethod.GET.equals(method)) {
+            if (HttpMethod.HEAD.equals(method) || HttpMethod.OPTIONS.equals(method)) {
+                return chain.filter(exchange);
+            }
+            ServerHttpResponse response = exchange.getResponse();
+            response.beforeCommit(() -> Mono.fromRunnable(() -> {
+                HttpStatusCode status = response.getStatusCode();
+                if (status != null && status.is2xxSuccessful()) {
+                    responseCache.invalidateRoute(routeId, "write");
+                }
+            }));
+            return chain.filter(exchange);
+        }
+
+        GatewayResponseCache.RouteCache cache = responseCache.route(routeId, config.getMaxSize(), config.getTtl());
+        String key = request.getURI().getRawPath()
+                + (request.getURI().getRawQuery() != null ? "?" + request.getURI().getRawQuery() : "");
+
+        // Cache-Control: no-cache on the request forces a round trip, which refreshes the entry
+        if (!requestsNoCache(request.getHeaders())) {
+            CachedResponse cached = cache.get(key);
+            if (cached != null) {
+                return writeCached(exchange, routeId, cached);
+            }
+        }
+
+        long generation = cache.generation();
+        ServerHttpResponse response = new CachingResponseDecorator(exchange, routeId, cache, key, generation,
+                config.getMaxBodyBytes());
+        return chain.filter(exchange.mutate().response(response).build());
+    }
+
+    private Mono<Void> writeCached(ServerWebExchange exchange, String routeId, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.setETag(cached.etag());
+        headers.set(X_CACHE, "HIT");
+
+        if (etagMatches(exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH), cached.etag())) {
+            notModified(routeId);
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+
+        response.setStatusCode(HttpStatus.OK);
+        if (cached.contentType() != null) {
+            headers.setContentType(cached.contentType());
+        }
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    /**
+     * Buffers a 200 body up to the size limit, stores it and sends it with an ETag (or a
+     * 304 when the client already has it). Bigger or non-cacheable responses pass through.
+     */
+    private class CachingResponseDecorator extends ServerHttpResponseDecorator {
+        private final ServerWebExchange exchange;
+        private final String routeId;
+        private final GatewayResponseCache.RouteCache cache;
+        private final String key;
+        private final long generation;
+        private final int maxBodyBytes;
+
+        CachingResponseDecorator(ServerWebExchange exchange, String routeId, GatewayResponseCache.RouteCache cache,
+                                 String key, long generation, int maxBodyBytes) {
+            super(exchange.getResponse());
+            this.exchange = exchange;
+            this.routeId = routeId;
+            this.cache = cache;
+            this.key = key;
+            this.generation = generation;
+            this.maxBodyBytes = maxBodyBytes;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getStatusCode();
+            if (status == null || status.value() != HttpStatus.OK.value() || !cacheable(getHeaders())) {
+                return getDelegate().writeWith(body);
+            }
+
+            // Chunks are grouped until the limit is crossed; after that each chunk is its own group
+            AtomicLong size = new AtomicLong();
+            return Flux.from(body)
+                    .bufferUntil(buffer -> size.addAndGet(buffer.readableByteCount()) > maxBodyBytes, true)
+                    .switchOnFirst((first, groups) -> first.hasValue() && size.get() <= maxBodyBytes
+                            ? groups.next().flatMap(this::storeAndWrite)
+                            : getDelegate().writeWith(groups.concatMapIterable(group -> group)))
+                    .then();
+        }
+
+        private Mono<Void> storeAndWrite(List<DataBuffer> buffers) {
+            byte[] bytes = new byte[buffers.stream().mapToInt(DataBuffer::readableByteCount).sum()];
+            int offset = 0;
+            for (DataBuffer buffer : buffers) {
+                int length = buffer.readableByteCount();
+                buffer.read(bytes, offset, length);
+                offset += length;
+                DataBufferUtils.release(buffer);
+            }
+
+            HttpHeaders headers = getHeaders();
+            String etag = headers.getETag() != null ? headers.getETag() : etagOf(bytes);
+            cache.put(key, new CachedResponse(bytes, headers.getContentType(), etag), generation);
+            headers.setETag(etag);
+            headers.set(X_CACHE, "MISS");
+
+            if (etagMatches(exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH), etag)) {
+                notModified(routeId);
+                setStatusCode(HttpStatus.NOT_MODIFIED);
+                headers.remove(HttpHeaders.CONTENT_LENGTH);
+                return getDelegate().setComplete();
+            }
+            headers.setContentLength(bytes.length);
+            return getDelegate().writeWith(Mono.just(bufferFactory().wrap(bytes)));
+        }
+    }
+
+    private void notModified(String routeId) {
+        meterRegistry.counter("gateway.response.cache.not.modified", "route", routeId).increment();
+    }
+
+    private static boolean requestsNoCache(HttpHeaders headers) {
+        String cacheControl = headers.getCacheControl();
+        return cacheControl != null && cacheControl.toLowerCase(Locale.ROOT).contains("no-cache");
+    }
+
+    static boolean cacheable(HttpHeaders headers) {
+        if (headers.containsKey(HttpHeaders.SET_COOKIE)) {
+            return false;
+        }
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl == null) {
+            return true;
+        }
+        String value = cacheControl.toLowerCase(Locale.ROOT);
+        return !value.contains("no-store") && !value.contains("private") && !value.contains("no-cache");
+    }
+
+    /**
+     * Weak comparison as required for If-None-Match: "W/" prefixes are ignored and
+     * "*" matches any current representation.
+     */
+    static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        String current = stripWeak(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || stripWeak(tag).equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    static String etagOf(byte[] body) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash).substring(0, 27) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
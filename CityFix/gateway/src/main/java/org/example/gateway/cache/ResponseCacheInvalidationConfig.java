@@ -0,0 +1,44 @@
+package org.example.gateway.cache;
+
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Per-instance, auto-delete queue on the reports exchange so every gateway replica
+ * hears about report mutations, whichever instance or service made them.
+ */
+@Configuration
+@ConditionalOnProperty(name = "gateway.response-cache.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+public class ResponseCacheInvalidationConfig {
+
+    @Value("${rabbitmq.exchange.reports:cityfix.reports}")
+    private String reportsExchange;
+
+    @Value("${gateway.response-cache.invalidation.routing-key:report.#}")
+    private String reportEventsRoutingKey;
+
+    @Bean
+    public TopicExchange reportsExchange() {
+        return new TopicExchange(reportsExchange);
+    }
+
+    @Bean
+    public AnonymousQueue responseCacheInvalidationQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding responseCacheInvalidationBinding(AnonymousQueue responseCacheInvalidationQueue,
+                                                    TopicExchange reportsExchange) {
+        return BindingBuilder
+                .bind(responseCacheInvalidationQueue)
+                .to(reportsExchange)
+                .with(reportEventsRoutingKey);
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.gateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process token buckets. Each bucket is an immutable state swapped with CAS, so
+ * concurrent requests for the same key never block each other. Idle buckets are
+ * evicted; by then they would have refilled to full anyway.
+ */
+@Component
+@ConditionalOnProperty(name = "gateway.rate-limit.backend", havingValue = "local", matchIfMissing = true)
+public class LocalTokenBucketStore implements TokenBucketStore {
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private record State(double tokens, long refilledAtNanos) {
+    }
+
+    private final Cache<String, AtomicReference<State>> buckets;
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public LocalTokenBucketStore(@Value("${gateway.rate-limit.local.max-keys:100000}") long maxKeys,
+                                 @Value("${gateway.rate-limit.local.idle-timeout:10m}") Duration idleTimeout) {
+        this(maxKeys, idleTimeout, System::nanoTime);
+    }
+
+    LocalTokenBucketStore(long maxKeys, Duration idleTimeout, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idleTimeout)
+                .build();
+    }
+
+    @Override
+    public Mono<Result> tryConsume(String key, int replenishRate, int burstCapacity, int requestedTokens) {
+        return Mono.just(consume(key, replenishRate, burstCapacity, requestedTokens));
+    }
+
+    Result consume(String key, int replenishRate, int burstCapacity, int requestedTokens) {
+        AtomicReference<State> bucket = buckets.get(key,
+                k -> new AtomicReference<>(new State(burstCapacity, nanoClock.getAsLong())));
+
+        while (true) {
+            State current = bucket.get();
+            long now = nanoClock.getAsLong();
+            double elapsedSeconds = Math.max(0, now - current.refilledAtNanos()) / NANOS_PER_SECOND;
+            double tokens = Math.min(burstCapacity, current.tokens() + elapsedSeconds * replenishRate);
+
+            boolean allowed = tokens >= requestedTokens;
+            State next = new State(allowed ? tokens - requestedTokens : tokens, now);
+            if (bucket.compareAndSet(current, next)) {
+                long retryAfter = allowed ? 0 : (long) Math.ceil((requestedTokens - tokens) / replenishRate);
+                return new Result(allowed, (long) Math.floor(next.tokens()), Math.max(allowed ? 0 : 1, retryAfter));
+            }
+        }
+    }
+}
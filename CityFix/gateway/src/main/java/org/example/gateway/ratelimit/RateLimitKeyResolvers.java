@@ -0,0 +1,101 @@
+package org.example.gateway.ratelimit;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.support.ipresolver.RemoteAddressResolver;
+import org.springframework.cloud.gateway.support.ipresolver.XForwardedRemoteAddressResolver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Rate-limit keys: {@code ipKeyResolver} for anonymous endpoints such as login, and
+ * {@code userOrIpKeyResolver} which uses the userId of a valid JWT (cookie or Bearer
+ * header) and falls back to the client IP. The token signature is checked so clients
+ * cannot spread requests over made-up user ids.
+ */
+@Slf4j
+@Configuration
+public class RateLimitKeyResolvers {
+
+    @Value("${jwt.cookie.name:JWT_TOKEN}")
+    private String jwtCookieName = "JWT_TOKEN";
+
+    @Bean
+    public RemoteAddressResolver rateLimitAddressResolver(
+            @Value("${gateway.rate-limit.trusted-proxies:0}") int trustedProxies) {
+        // Without a proxy in front of the gateway X-Forwarded-For is client-controlled
+        return trustedProxies > 0
+                ? XForwardedRemoteAddressResolver.maxTrustedIndex(trustedProxies)
+                : new RemoteAddressResolver() {
+                };
+    }
+
+    @Bean
+    public JwtParser rateLimitJwtParser(@Value("${jwt.secret}") String jwtSecret) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8)))
+                .build();
+    }
+
+    @Bean
+    public KeyResolver ipKeyResolver(RemoteAddressResolver rateLimitAddressResolver) {
+        return exchange -> Mono.just("ip:" + clientIp(rateLimitAddressResolver, exchange));
+    }
+
+    @Bean
+    @Primary
+    public KeyResolver userOrIpKeyResolver(RemoteAddressResolver rateLimitAddressResolver,
+                                           JwtParser rateLimitJwtParser) {
+        return exchange -> {
+            Long userId = userId(rateLimitJwtParser, exchange.getRequest());
+            return Mono.just(userId != null
+                    ? "user:" + userId
+                    : "ip:" + clientIp(rateLimitAddressResolver, exchange));
+        };
+    }
+
+    private Long userId(JwtParser parser, ServerHttpRequest request) {
+        String token = null;
+        HttpCookie cookie = request.getCookies().getFirst(jwtCookieName);
+        if (cookie != null) {
+            token = cookie.getValue();
+        } else {
+            String authorization = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+            if (authorization != null && authorization.startsWith("Bearer ")) {
+                token = authorization.substring(7);
+            }
+        }
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            return claims.get("userId", Long.class);
+        } catch (Exception e) {
+            log.debug("Ignoring invalid JWT for rate limiting: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static String clientIp(RemoteAddressResolver resolver, ServerWebExchange exchange) {
+        InetSocketAddress address = resolver.resolve(exchange);
+        if (address == null) {
+            return "unknown";
+        }
+        return address.getAddress() != null ? address.getAddress().getHostAddress() : address.getHostString();
+    }
+}
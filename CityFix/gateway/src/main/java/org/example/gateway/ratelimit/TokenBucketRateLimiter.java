@@ -0,0 +1,95 @@
+package org.example.gateway.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Token-bucket {@link org.springframework.cloud.gateway.filter.ratelimit.RateLimiter} for the
+ * RequestRateLimiter filter. Limits are set per route with
+ * {@code token-bucket-rate-limiter.*} filter args; buckets live in the configured
+ * {@link TokenBucketStore}, one per route and key. If the store fails the request is let
+ * through rather than failing the route.
+ */
+@Slf4j
+@Component
+public class TokenBucketRateLimiter extends AbstractRateLimiter<TokenBucketRateLimiter.Config> {
+    public static final String CONFIGURATION_PROPERTY_NAME = "token-bucket-rate-limiter";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+    public static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+    public static final String REQUESTED_TOKENS_HEADER = "X-RateLimit-Requested-Tokens";
+
+    private final TokenBucketStore store;
+    private final MeterRegistry meterRegistry;
+    private final Config defaultConfig;
+
+    @Data
+    public static class Config {
+        /** Tokens added per second. */
+        private int replenishRate = 50;
+        /** Bucket size, i.e. the largest burst allowed after a quiet period. */
+        private int burstCapacity = 100;
+        /** Tokens taken by one request. */
+        private int requestedTokens = 1;
+    }
+
+    @Autowired
+    public TokenBucketRateLimiter(TokenBucketStore store,
+                                  MeterRegistry meterRegistry,
+                                  ConfigurationService configurationService,
+                                  @Value("${gateway.rate-limit.default.replenish-rate:50}") int replenishRate,
+                                  @Value("${gateway.rate-limit.default.burst-capacity:100}") int burstCapacity) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.store = store;
+        this.meterRegistry = meterRegistry;
+        this.defaultConfig = new Config();
+        this.defaultConfig.setReplenishRate(replenishRate);
+        this.defaultConfig.setBurstCapacity(burstCapacity);
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = getConfig().getOrDefault(routeId, defaultConfig);
+        return store.tryConsume(routeId + ":" + id, config.getReplenishRate(), config.getBurstCapacity(),
+                        config.getRequestedTokens())
+                .map(result -> {
+                    count(routeId, result.allowed() ? "allowed" : "rejected");
+                    if (!result.allowed()) {
+                        log.debug("Rate limit exceeded on route {} for {}", routeId, id);
+                    }
+                    return new Response(result.allowed(), headers(config, result));
+                })
+                .onErrorResume(e -> {
+                    count(routeId, "error");
+                    log.warn("Rate limiter backend failed on route {}, allowing request: {}", routeId, e.getMessage());
+                    return Mono.just(new Response(true, Map.of(REMAINING_HEADER, "-1")));
+                });
+    }
+
+    private Map<String, String> headers(Config config, TokenBucketStore.Result result) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put(REMAINING_HEADER, String.valueOf(result.remaining()));
+        headers.put(REPLENISH_RATE_HEADER, String.valueOf(config.getReplenishRate()));
+        headers.put(BURST_CAPACITY_HEADER, String.valueOf(config.getBurstCapacity()));
+        headers.put(REQUESTED_TOKENS_HEADER, String.valueOf(config.getRequestedTokens()));
+        if (!result.allowed()) {
+            headers.put(HttpHeaders.RETRY_AFTER, String.valueOf(result.retryAfterSeconds()));
+        }
+        return headers;
+    }
+
+    private void count(String routeId, String outcome) {
+        meterRegistry.counter("gateway.ratelimit.requests", "route", routeId, "outcome", outcome).increment();
+    }
+}
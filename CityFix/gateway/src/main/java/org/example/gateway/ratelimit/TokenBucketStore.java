@@ -0,0 +1,25 @@
+package org.example.gateway.ratelimit;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Holds the token buckets behind {@link TokenBucketRateLimiter}. The default backend is
+ * {@link LocalTokenBucketStore} (per gateway instance); a shared backend for several
+ * replicas is plugged in by implementing this interface and selecting it with
+ * {@code gateway.rate-limit.backend}.
+ */
+public interface TokenBucketStore {
+
+    /**
+     * Refills the bucket of {@code key} at {@code replenishRate} tokens per second up to
+     * {@code burstCapacity} and takes {@code requestedTokens} if that many are available.
+     */
+    Mono<Result> tryConsume(String key, int replenishRate, int burstCapacity, int requestedTokens);
+
+    /**
+     * @param remaining         tokens left after this request
+     * @param retryAfterSeconds when the request was denied, seconds until enough tokens are back
+     */
+    record Result(boolean allowed, long remaining, long retryAfterSeconds) {
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.gateway.resilience;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Caps the number of in-flight requests to one downstream with a Resilience4j semaphore
+ * bulkhead ({@code resilience4j.bulkhead.instances.<name>}). Routes to the same service
+ * share the name and therefore the permits. When all permits are taken the request is
+ * answered with 503 right away instead of queueing behind a slow service.
+ */
+@Slf4j
+@Component
+public class BulkheadGatewayFilterFactory extends AbstractGatewayFilterFactory<BulkheadGatewayFilterFactory.Config> {
+    private final BulkheadRegistry bulkheadRegistry;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public BulkheadGatewayFilterFactory(BulkheadRegistry bulkheadRegistry, MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Data
+    public static class Config {
+        private String name;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("name");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(config.getName());
+        return (exchange, chain) -> chain.filter(exchange)
+                .transformDeferred(BulkheadOperator.of(bulkhead))
+                .onErrorResume(BulkheadFullException.class, e -> reject(exchange, bulkhead));
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, Bulkhead bulkhead) {
+        meterRegistry.counter("gateway.bulkhead.rejected", "name", bulkhead.getName()).increment();
+        log.warn("Bulkhead {} full ({} concurrent calls), rejecting {}", bulkhead.getName(),
+                bulkhead.getBulkheadConfig().getMaxConcurrentCalls(), exchange.getRequest().getPath());
+
+        ServerHttpResponse response = exchange.getResponse();
+        if (response.isCommitted()) {
+            return Mono.empty();
+        }
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+        String body = "{\"timestamp\":\"" + LocalDateTime.now() + "\",\"status\":503,"
+                + "\"message\":\"Service " + bulkhead.getName() + " is busy, try again shortly\"}";
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8))));
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.gateway.resilience;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Fallback target of the CircuitBreaker route filters. An open circuit or an
+ * unreachable service answers 503, a downstream that did not respond in time 504.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/fallback")
+public class FallbackController {
+
+    @RequestMapping("/{service}")
+    public ResponseEntity<Map<String, Object>> fallback(@PathVariable String service, ServerWebExchange exchange) {
+        Throwable cause = exchange.getAttribute(ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR);
+
+        HttpStatus status;
+        String message;
+        if (cause instanceof TimeoutException
+                || (cause instanceof ResponseStatusException rse && rse.getStatusCode().value() == 504)) {
+            status = HttpStatus.GATEWAY_TIMEOUT;
+            message = "Service " + service + " did not respond in time";
+        } else if (cause instanceof CallNotPermittedException) {
+            status = HttpStatus.SERVICE_UNAVAILABLE;
+            message = "Service " + service + " is temporarily unavailable";
+        } else {
+            status = HttpStatus.SERVICE_UNAVAILABLE;
+            message = "Service " + service + " is unavailable";
+        }
+        log.warn("Fallback for {}: {} ({})", service, status.value(),
+                cause != null ? cause.getClass().getSimpleName() + ": " + cause.getMessage() : "no cause");
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", status.value());
+        body.put("message", message);
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(body);
+    }
+}
@@ -0,0 +1,253 @@
+package org.example.gateway.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheGatewayFilterFactoryTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private GatewayResponseCache responseCache;
+    private final AtomicInteger downstreamCalls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        responseCache = new GatewayResponseCache(meterRegistry);
+    }
+
+    private CachedResponse response(String body) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        return new CachedResponse(bytes, MediaType.APPLICATION_JSON, ResponseCacheGatewayFilterFactory.etagOf(bytes));
+    }
+
+    @Test
+    void testInvalidationDropsEntries() {
+        GatewayResponseCache.RouteCache cache = responseCache.route("report-service", 10, Duration.ofMinutes(1));
+        assertTrue(cache.put("/api/reports/1", response("{}"), cache.generation()));
+
+        responseCache.invalidateRoute("report-service", "event");
+
+        assertNull(cache.get("/api/reports/1"));
+        assertEquals(1, meterRegistry.get("gateway.response.cache.invalidations")
+                .tags("route", "report-service", "source", "event").counter().count());
+    }
+
+    @Test
+    void testResponseFetchedBeforeInvalidationIsNotStored() {
+        GatewayResponseCache.RouteCache cache = responseCache.route("report-service", 10, Duration.ofMinutes(1));
+        long generation = cache.generation();
+
+        responseCache.invalidateRoute("report-service", "write");
+
+        assertFalse(cache.put("/api/reports", response("[]"), generation));
+        assertNull(cache.get("/api/reports"));
+    }
+
+    @Test
+    void testGetIsServedFromCacheAfterMiss() {
+        ResponseCacheGatewayFilterFactory.Config config = new ResponseCacheGatewayFilterFactory.Config();
+
+        MockServerWebExchange miss = get(config, null, HttpStatus.OK, "[{\"id\":1}", "]");
+        MockServerWebExchange hit = get(config, null, HttpStatus.OK, "[]");
+
+        assertEquals(1, downstreamCalls.get());
+        assertEquals("MISS", miss.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.X_CACHE));
+        assertEquals("HIT", hit.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.X_CACHE));
+        assertEquals(HttpStatus.OK, hit.getResponse().getStatusCode());
+        assertEquals("[{\"id\":1}]", hit.getResponse().getBodyAsString().block());
+        assertEquals(MediaType.APPLICATION_JSON, hit.getResponse().getHeaders().getContentType());
+        assertEquals(miss.getResponse().getHeaders().getETag(), hit.getResponse().getHeaders().getETag());
+        assertEquals(etagOf("[{\"id\":1}]"), hit.getResponse().getHeaders().getETag());
+    }
+
+    @Test
+    void testFreshResponseMatchingIfNoneMatchIsNotModified() {
+        ResponseCacheGatewayFilterFactory.Config config = new ResponseCacheGatewayFilterFactory.Config();
+
+        MockServerWebExchange exchange = get(config, etagOf("[]"), HttpStatus.OK, "[]");
+
+        assertEquals(HttpStatus.NOT_MODIFIED, exchange.getResponse().getStatusCode());
+        assertEquals("MISS", exchange.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.X_CACHE));
+        assertEquals("", exchange.getResponse().getBodyAsString().block());
+        assertNotNull(routeCache().get("/api/reports"));
+        assertEquals(1, meterRegistry.get("gateway.response.cache.not.modified")
+                .tag("route", "report-service").counter().count());
+    }
+
+    @Test
+    void testCachedResponseMatchingIfNoneMatchIsNotModified() {
+        ResponseCacheGatewayFilterFactory.Config config = new ResponseCacheGatewayFilterFactory.Config();
+        get(config, null, HttpStatus.OK, "[]");
+
+        MockServerWebExchange exchange = get(config, "W/" + etagOf("[]"), HttpStatus.OK, "[]");
+
+        assertEquals(1, downstreamCalls.get());
+        assertEquals(HttpStatus.NOT_MODIFIED, exchange.getResponse().getStatusCode());
+        assertEquals("HIT", exchange.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.X_CACHE));
+        assertEquals(etagOf("[]"), exchange.getResponse().getHeaders().getETag());
+        assertEquals("", exchange.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void testOversizedBodyIsStreamedWithoutCaching() {
+        ResponseCacheGatewayFilterFactory.Config config = new ResponseCacheGatewayFilterFactory.Config();
+        config.setMaxBodyBytes(8);
+
+        MockServerWebExchange first = get(config, null, HttpStatus.OK, "[1,", "2,3", ",4,5,6]");
+        MockServerWebExchange second = get(config, null, HttpStatus.OK, "[1,", "2,3", ",4,5,6]");
+
+        assertEquals("[1,2,3,4,5,6]", first.getResponse().getBodyAsString().block());
+        assertNull(first.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.X_CACHE));
+        assertNull(routeCache().get("/api/reports"));
+        assertEquals("[1,2,3,4,5,6]", second.getResponse().getBodyAsString().block());
+        assertEquals(2, downstreamCalls.get());
+    }
+
+    @Test
+    void testNonOkResponseIsNotStored() {
+        ResponseCacheGatewayFilterFactory.Config config = new ResponseCacheGatewayFilterFactory.Config();
+
+        MockServerWebExchange exchange = get(config, null, HttpStatus.NOT_FOUND, "{\"error\":\"Not found\"}");
+        get(config, null, HttpStatus.NOT_FOUND, "{\"error\":\"Not found\"}");
+
+        assertEquals(HttpStatus.NOT_FOUND, exchange.getResponse().getStatusCode());
+        assertEquals("{\"error\":\"Not found\"}", exchange.getResponse().getBodyAsString().block());
+        assertNull(exchange.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.X_CACHE));
+        assertNull(routeCache().get("/api/reports"));
+        assertEquals(2, downstreamCalls.get());
+    }
+
+    @Test
+    void testSuccessfulWriteInvalidatesBeforeResponseIsCommitted() {
+        GatewayResponseCache.RouteCache cache = responseCache.route("report-service", 10, Duration.ofMinutes(1));
+        cache.put("/api/reports", response("[]"), cache.generation());
+
+        AtomicReference<CachedResponse> seenAfterCommit = new AtomicReference<>(response("stale"));
+        write(HttpStatus.CREATED, exchange -> seenAfterCommit.set(cache.get("/api/reports")));
+
+        assertNull(seenAfterCommit.get());
+        assertEquals(1, meterRegistry.get("gateway.response.cache.invalidations")
+                .tags("route", "report-service", "source", "write").counter().count());
+    }
+
+    @Test
+    void testFailedWriteKeepsCache() {
+        GatewayResponseCache.RouteCache cache = responseCache.route("report-service", 10, Duration.ofMinutes(1));
+        cache.put("/api/reports", response("[]"), cache.generation());
+
+        write(HttpStatus.BAD_REQUEST, exchange -> { });
+
+        assertNotNull(cache.get("/api/reports"));
+    }
+
+    /**
+     * Runs a GET of /api/reports through the filter; on a miss the downstream answers
+     * with the status and a JSON body written as the given chunks.
+     */
+    private MockServerWebExchange get(ResponseCacheGatewayFilterFactory.Config config, String ifNoneMatch,
+                                      HttpStatus status, String... chunks) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/api/reports");
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        MockServerWebExchange exchange = routed(request.build());
+
+        filter(config).filter(exchange, e -> {
+            downstreamCalls.incrementAndGet();
+            ServerHttpResponse response = e.getResponse();
+            response.setStatusCode(status);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return response.writeWith(Flux.fromArray(chunks)
+                    .map(chunk -> response.bufferFactory().wrap(chunk.getBytes(StandardCharsets.UTF_8))));
+        }).block();
+        return exchange;
+    }
+
+    /**
+     * Runs a POST through the filter; the downstream commits the response with the given
+     * status and then calls {@code afterCommit}, as a client would only then see the answer.
+     */
+    private void write(HttpStatus status, Consumer<MockServerWebExchange> afterCommit) {
+        MockServerWebExchange exchange = routed(MockServerHttpRequest.post("/api/reports").build());
+
+        filter(new ResponseCacheGatewayFilterFactory.Config()).filter(exchange, e -> {
+            e.getResponse().setStatusCode(status);
+            return e.getResponse().setComplete().then(Mono.fromRunnable(() -> afterCommit.accept(exchange)));
+        }).block();
+    }
+
+    private MockServerWebExchange routed(MockServerHttpRequest request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id("report-service")
+                .uri("http://localhost:8082")
+                .predicate(e -> true)
+                .build());
+        return exchange;
+    }
+
+    private GatewayFilter filter(ResponseCacheGatewayFilterFactory.Config config) {
+        return new ResponseCacheGatewayFilterFactory(responseCache, meterRegistry).apply(config);
+    }
+
+    private GatewayResponseCache.RouteCache routeCache() {
+        return responseCache.route("report-service", 10, Duration.ofMinutes(1));
+    }
+
+    private static String etagOf(String body) {
+        return ResponseCacheGatewayFilterFactory.etagOf(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testEtagIsStableAndQuoted() {
+        byte[] body = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+
+        String etag = ResponseCacheGatewayFilterFactory.etagOf(body);
+
+        assertEquals(etag, ResponseCacheGatewayFilterFactory.etagOf(body.clone()));
+        assertTrue(etag.startsWith("\"") && etag.endsWith("\""));
+        assertNotEquals(etag, ResponseCacheGatewayFilterFactory.etagOf("{\"id\":2}".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void testEtagMatches() {
+        assertTrue(ResponseCacheGatewayFilterFactory.etagMatches("\"abc\"", "\"abc\""));
+        assertTrue(ResponseCacheGatewayFilterFactory.etagMatches("\"x\", W/\"abc\"", "\"abc\""));
+        assertTrue(ResponseCacheGatewayFilterFactory.etagMatches("*", "\"abc\""));
+        assertFalse(ResponseCacheGatewayFilterFactory.etagMatches("\"abd\"", "\"abc\""));
+        assertFalse(ResponseCacheGatewayFilterFactory.etagMatches(null, "\"abc\""));
+    }
+
+    @Test
+    void testCacheableHonoursCookiesAndCacheControl() {
+        HttpHeaders headers = new HttpHeaders();
+        assertTrue(ResponseCacheGatewayFilterFactory.cacheable(headers));
+
+        headers.setCacheControl("private, max-age=60");
+        assertFalse(ResponseCacheGatewayFilterFactory.cacheable(headers));
+
+        HttpHeaders withCookie = new HttpHeaders();
+        withCookie.add(HttpHeaders.SET_COOKIE, "JWT_TOKEN=x");
+        assertFalse(ResponseCacheGatewayFilterFactory.cacheable(withCookie));
+    }
+}
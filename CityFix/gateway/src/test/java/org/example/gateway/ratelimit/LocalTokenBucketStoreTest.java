@@ -0,0 +1,75 @@
+package org.example.gateway.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalTokenBucketStoreTest {
+
+    private AtomicLong clock;
+    private LocalTokenBucketStore store;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong();
+        store = new LocalTokenBucketStore(1000, Duration.ofMinutes(10), clock::get);
+    }
+
+    @Test
+    void testBurstThenRejectWithRetryAfter() {
+        for (int i = 0; i < 5; i++) {
+            assertTrue(store.consume("route:ip:1", 1, 5, 1).allowed());
+        }
+
+        TokenBucketStore.Result denied = store.consume("route:ip:1", 1, 5, 1);
+
+        assertFalse(denied.allowed());
+        assertEquals(0, denied.remaining());
+        assertEquals(1, denied.retryAfterSeconds());
+    }
+
+    @Test
+    void testRefillsAtReplenishRateUpToCapacity() {
+        for (int i = 0; i < 5; i++) {
+            store.consume("key", 2, 5, 1);
+        }
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(1, store.consume("key", 2, 5, 1).remaining());
+
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(1));
+        assertEquals(4, store.consume("key", 2, 5, 1).remaining());
+    }
+
+    @Test
+    void testKeysHaveSeparateBuckets() {
+        assertTrue(store.consume("a", 1, 1, 1).allowed());
+        assertFalse(store.consume("a", 1, 1, 1).allowed());
+        assertTrue(store.consume("b", 1, 1, 1).allowed());
+    }
+
+    @Test
+    void testConcurrentRequestsNeverExceedCapacity() throws Exception {
+        AtomicInteger allowed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1000; i++) {
+            executor.execute(() -> {
+                if (store.consume("shared", 1, 100, 1).allowed()) {
+                    allowed.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(100, allowed.get());
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.gateway.resilience;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadGatewayFilterFactoryTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private GatewayFilter filter;
+    private final AtomicInteger downstreamCalls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        BulkheadGatewayFilterFactory.Config config = new BulkheadGatewayFilterFactory.Config();
+        config.setName("report-service");
+        filter = new BulkheadGatewayFilterFactory(bulkheadRegistry, meterRegistry).apply(config);
+    }
+
+    // Downstream work is counted on subscribe: the filter builds chain.filter() eagerly and
+    // the bulkhead decides whether that Mono is ever subscribed
+    @Test
+    void testFullBulkheadRejectsWithServiceUnavailable() {
+        Sinks.Empty<Void> slowDownstream = Sinks.empty();
+        Disposable inFlight = filter.filter(exchange(), e -> slowDownstream.asMono()
+                .doOnSubscribe(subscription -> downstreamCalls.incrementAndGet())).subscribe();
+
+        MockServerWebExchange rejected = exchange();
+        filter.filter(rejected, e -> Mono.fromRunnable(downstreamCalls::incrementAndGet)).block();
+
+        assertEquals(1, downstreamCalls.get());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getResponse().getStatusCode());
+        assertEquals("1", rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertTrue(rejected.getResponse().getBodyAsString().block().contains("\"status\":503"));
+        assertEquals(1, meterRegistry.get("gateway.bulkhead.rejected").tag("name", "report-service")
+                .counter().count());
+        inFlight.dispose();
+    }
+
+    @Test
+    void testPermitIsReleasedWhenDownstreamCompletes() {
+        Sinks.Empty<Void> downstream = Sinks.empty();
+        filter.filter(exchange(), e -> downstream.asMono()).subscribe();
+        downstream.tryEmitEmpty();
+
+        MockServerWebExchange next = exchange();
+        filter.filter(next, e -> Mono.fromRunnable(() -> {
+            downstreamCalls.incrementAndGet();
+            e.getResponse().setStatusCode(HttpStatus.OK);
+        })).block();
+
+        assertEquals(1, downstreamCalls.get());
+        assertEquals(HttpStatus.OK, next.getResponse().getStatusCode());
+        assertTrue(meterRegistry.find("gateway.bulkhead.rejected").counters().isEmpty());
+    }
+
+    private static MockServerWebExchange exchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/reports").build());
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.gateway.resilience;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.net.ConnectException;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FallbackControllerTest {
+
+    private final FallbackController controller = new FallbackController();
+
+    @Test
+    void testTimeoutMapsToGatewayTimeout() {
+        ResponseEntity<Map<String, Object>> response = fallback(new TimeoutException("Did not observe any item"));
+
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT, response.getStatusCode());
+        assertEquals(504, response.getBody().get("status"));
+        assertEquals("5", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void testGatewayTimeoutStatusMapsToGatewayTimeout() {
+        ResponseEntity<Map<String, Object>> response = fallback(
+                new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "Response took longer than timeout"));
+
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT, response.getStatusCode());
+    }
+
+    @Test
+    void testOpenCircuitMapsToServiceUnavailable() {
+        CircuitBreaker circuitBreaker = CircuitBreaker.ofDefaults("report-service");
+        circuitBreaker.transitionToOpenState();
+
+        ResponseEntity<Map<String, Object>> response = fallback(
+                CallNotPermittedException.createCallNotPermittedException(circuitBreaker));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("Service report-service is temporarily unavailable", response.getBody().get("message"));
+        assertEquals("5", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void testOtherFailuresMapToServiceUnavailable() {
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, fallback(new ConnectException("Connection refused")).getStatusCode());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, fallback(null).getStatusCode());
+    }
+
+    private ResponseEntity<Map<String, Object>> fallback(Throwable cause) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/fallback/report-service").build());
+        if (cause != null) {
+            exchange.getAttributes().put(ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR, cause);
+        }
+        return controller.fallback("report-service", exchange);
+    }
+}
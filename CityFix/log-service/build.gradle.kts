@@ -13,6 +13,9 @@ repositories {
 }
 
 dependencies {
+    // Shared virtual-thread support (CityFix/common)
+    implementation("org.example:common:1.0-SNAPSHOT")
+
     // Spring Boot
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
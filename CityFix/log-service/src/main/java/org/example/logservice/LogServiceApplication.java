@@ -2,8 +2,10 @@ package org.example.logservice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class LogServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(LogServiceApplication.class, args);
@@ -5,11 +5,13 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.springframework.amqp.core.*;
 import org.springframework.amqp.rabbit.annotation.EnableRabbit;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -26,6 +28,12 @@ public class RabbitMQConfig {
     @Value("${rabbitmq.routing-key.audit:audit.#}")
     private String auditRoutingKey;
 
+    @Value("${audit.ingest.batch-size:100}")
+    private int ingestBatchSize;
+
+    @Value("${audit.ingest.max-wait-ms:200}")
+    private long ingestMaxWaitMs;
+
     @Bean
     public TopicExchange auditExchange() {
         return new TopicExchange(auditExchange);
@@ -58,5 +66,25 @@ public class RabbitMQConfig {
         rabbitTemplate.setMessageConverter(messageConverter());
         return rabbitTemplate;
     }
-}
 
+    /**
+     * Delivers up to batch-size audit events per listener call. A partial batch is
+     * released once no new message arrives within max-wait-ms. Messages are acked
+     * only after the listener returns, i.e. after the batch transaction commits.
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory auditBatchContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setMessageConverter(messageConverter());
+        factory.setAcknowledgeMode(AcknowledgeMode.AUTO);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(ingestBatchSize);
+        factory.setPrefetchCount(ingestBatchSize);
+        factory.setReceiveTimeout(ingestMaxWaitMs);
+        return factory;
+    }
+}
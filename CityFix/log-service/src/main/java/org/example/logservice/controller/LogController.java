@@ -1,16 +1,16 @@
 package org.example.logservice.controller;
 
 import lombok.extern.slf4j.Slf4j;
-import org.example.logservice.entity.AuditLog;
+import org.example.logservice.dto.AuditLogPageResponse;
 import org.example.logservice.service.AuditLogService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 @Slf4j
 @RestController
@@ -29,9 +29,13 @@ public class LogController {
     @GetMapping
     public ResponseEntity<?> getLogs(
             @RequestParam(required = false) String password,
-            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) Integer limit,
             @RequestParam(required = false) Long userId,
-            @RequestParam(required = false) String eventType) {
+            @RequestParam(required = false) String eventType,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor) {
 
         // param password auth set via env var
         if (password == null || !password.equals(accessPassword)) {
@@ -40,20 +44,15 @@ public class LogController {
                     .body("Unauthorized: Invalid password");
         }
 
-        log.info("Authorized access to logs: limit={}, userId={}, eventType={}", limit, userId, eventType);
+        log.info("Authorized access to logs: limit={}, userId={}, eventType={}, action={}, from={}, to={}",
+                limit, userId, eventType, action, from, to);
 
         try {
-            List<AuditLog> logs;
-
-            if (userId != null) {
-                logs = auditLogService.getLogsByUserId(userId);
-            } else if (eventType != null) {
-                logs = auditLogService.getLogsByEventType(eventType);
-            } else {
-                logs = auditLogService.getAllLogs(limit);
-            }
-
-            return ResponseEntity.ok(logs);
+            AuditLogPageResponse page = auditLogService.getLogs(userId, eventType, action, from, to, cursor, limit);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            log.warn("Bad logs query: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
             log.error("Error fetching logs: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
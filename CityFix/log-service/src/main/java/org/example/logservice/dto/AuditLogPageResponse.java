@@ -0,0 +1,18 @@
+package org.example.logservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.logservice.entity.AuditLog;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditLogPageResponse {
+    private List<AuditLog> items;
+    private String nextCursor;
+}
@@ -5,9 +5,10 @@ import org.example.logservice.event.AuditEvent;
 import org.example.logservice.service.AuditLogService;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Slf4j
 @Component
 public class AuditEventListener {
@@ -18,20 +19,16 @@ public class AuditEventListener {
         this.auditLogService = auditLogService;
     }
 
-    @RabbitListener(queues = "${rabbitmq.queue.audit-logs:audit.logs.queue}")
-    public void handleAuditEvent(
-            AuditEvent event,
-            @Header(value = "amqp_messageId", required = false) String messageId) {
-
-        log.info("Received AuditEvent: type={}, user={}, action={}, messageId={}",
-                event.getEventType(), event.getUsername(), event.getAction(), messageId);
+    @RabbitListener(queues = "${rabbitmq.queue.audit-logs:audit.logs.queue}",
+            containerFactory = "auditBatchContainerFactory")
+    public void handleAuditEvents(List<AuditEvent> events) {
+        log.info("Received batch of {} AuditEvents", events.size());
 
         try {
-            auditLogService.logEvent(event);
+            auditLogService.logEvents(events);
         } catch (Exception e) {
-            log.error("Failed to save audit log: {}", e.getMessage(), e);
-            throw e; // Retry przez RabbitMQ
+            log.error("Failed to save batch of {} audit logs: {}", events.size(), e.getMessage(), e);
+            throw e; // Cały batch wraca do kolejki (retry przez RabbitMQ)
         }
     }
 }
-
@@ -1,19 +1,9 @@
 package org.example.logservice.repository;
 
 import org.example.logservice.entity.AuditLog;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
-import java.util.List;
-
 @Repository
-public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
-    List<AuditLog> findByUserIdOrderByCreatedAtDesc(Long userId);
-    List<AuditLog> findByEventTypeOrderByCreatedAtDesc(String eventType);
-    Page<AuditLog> findAllByOrderByCreatedAtDesc(Pageable pageable);
-    List<AuditLog> findByCreatedAtBetweenOrderByCreatedAtDesc(LocalDateTime start, LocalDateTime end);
+public interface AuditLogRepository extends JpaRepository<AuditLog, Long>, AuditLogRepositoryCustom {
 }
-
@@ -0,0 +1,18 @@
+package org.example.logservice.repository;
+
+import org.example.logservice.entity.AuditLog;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface AuditLogRepositoryCustom {
+    /**
+     * Keyset page over (created_at, id), newest first. Only non-null filters become
+     * predicates, so each combination hits its composite index and a bounded date range
+     * prunes audit_logs partitions. A null cursor starts from the newest entry.
+     */
+    List<AuditLog> findPage(Long userId, String eventType, String action,
+                            LocalDateTime from, LocalDateTime to,
+                            LocalDateTime cursorCreatedAt, Long cursorId,
+                            int limit);
+}
@@ -0,0 +1,63 @@
+package org.example.logservice.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.example.logservice.entity.AuditLog;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+class AuditLogRepositoryImpl implements AuditLogRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<AuditLog> findPage(Long userId, String eventType, String action,
+                                   LocalDateTime from, LocalDateTime to,
+                                   LocalDateTime cursorCreatedAt, Long cursorId,
+                                   int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AuditLog> query = cb.createQuery(AuditLog.class);
+        Root<AuditLog> auditLog = query.from(AuditLog.class);
+        Path<LocalDateTime> createdAt = auditLog.get("createdAt");
+        Path<Long> id = auditLog.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (userId != null) {
+            predicates.add(cb.equal(auditLog.get("userId"), userId));
+        }
+        if (eventType != null) {
+            predicates.add(cb.equal(auditLog.get("eventType"), eventType));
+        }
+        if (action != null) {
+            predicates.add(cb.equal(auditLog.get("action"), action));
+        }
+        if (from != null) {
+            predicates.add(cb.greaterThanOrEqualTo(createdAt, from));
+        }
+        if (to != null) {
+            predicates.add(cb.lessThanOrEqualTo(createdAt, to));
+        }
+        if (cursorCreatedAt != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(createdAt, cursorCreatedAt),
+                    cb.and(cb.equal(createdAt, cursorCreatedAt), cb.lessThan(id, cursorId))));
+        }
+
+        query.select(auditLog)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.desc(createdAt), cb.desc(id));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
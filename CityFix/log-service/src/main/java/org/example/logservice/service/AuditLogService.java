@@ -1,24 +1,29 @@
 package org.example.logservice.service;
 
 import lombok.extern.slf4j.Slf4j;
+import org.example.logservice.dto.AuditLogPageResponse;
 import org.example.logservice.entity.AuditLog;
 import org.example.logservice.event.AuditEvent;
 import org.example.logservice.repository.AuditLogRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class AuditLogService {
+    static final int DEFAULT_LIMIT = 100;
+
     private final AuditLogRepository auditLogRepository;
 
+    @Value("${log-service.query.max-limit:1000}")
+    private int maxLimit = 1000;
+
     @Autowired
     public AuditLogService(AuditLogRepository auditLogRepository) {
         this.auditLogRepository = auditLogRepository;
@@ -26,39 +31,78 @@ public class AuditLogService {
 
     @Transactional
     public void logEvent(AuditEvent event) {
-        AuditLog auditLog = AuditLog.builder()
-                .eventType(event.getEventType())
-                .userId(event.getUserId())
-                .username(event.getUsername())
-                .entityType(event.getEntityType())
-                .entityId(event.getEntityId())
-                .action(event.getAction())
-                .details(event.getDetails())
-                .ipAddress(event.getIpAddress())
-                .createdAt(event.getTimestamp() != null ? event.getTimestamp() : LocalDateTime.now())
-                .build();
-
-        auditLogRepository.save(auditLog);
+        auditLogRepository.save(toAuditLog(event));
         log.info("Audit log saved: {} - {} by user {}",
                 event.getEventType(), event.getAction(), event.getUsername());
     }
 
-    public List<AuditLog> getAllLogs(int limit) {
-        Pageable pageable = PageRequest.of(0, limit);
-        Page<AuditLog> page = auditLogRepository.findAllByOrderByCreatedAtDesc(pageable);
-        return page.getContent();
+    /**
+     * Persists a whole batch in one transaction; with sequence ids and
+     * hibernate.jdbc.batch_size this becomes a handful of multi-row inserts.
+     */
+    @Transactional
+    public void logEvents(List<AuditEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        List<AuditLog> auditLogs = events.stream()
+                .map(this::toAuditLog)
+                .collect(Collectors.toList());
+
+        auditLogRepository.saveAll(auditLogs);
+        log.info("Audit log batch saved: {} entries", auditLogs.size());
     }
 
-    public List<AuditLog> getLogsByUserId(Long userId) {
-        return auditLogRepository.findByUserIdOrderByCreatedAtDesc(userId);
+    /**
+     * One page of audit logs, newest first. Any combination of filters may be given;
+     * the page size is always capped at log-service.query.max-limit.
+     */
+    public AuditLogPageResponse getLogs(Long userId, String eventType, String action,
+                                        LocalDateTime from, LocalDateTime to,
+                                        String cursor, Integer limit) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        int pageSize = resolveLimit(limit);
+        AuditLogCursor position = cursor != null && !cursor.isBlank() ? AuditLogCursor.decode(cursor) : null;
+
+        // One extra row tells whether another page exists
+        List<AuditLog> rows = auditLogRepository.findPage(userId, eventType, action, from, to,
+                position != null ? position.getCreatedAt() : null,
+                position != null ? position.getId() : null,
+                pageSize + 1);
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            AuditLog last = rows.get(pageSize - 1);
+            nextCursor = new AuditLogCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return AuditLogPageResponse.builder()
+                .items(rows)
+                .nextCursor(nextCursor)
+                .build();
     }
 
-    public List<AuditLog> getLogsByEventType(String eventType) {
-        return auditLogRepository.findByEventTypeOrderByCreatedAtDesc(eventType);
+    private int resolveLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return Math.min(DEFAULT_LIMIT, maxLimit);
+        }
+        return Math.min(limit, maxLimit);
     }
 
-    public List<AuditLog> getLogsByDateRange(LocalDateTime start, LocalDateTime end) {
-        return auditLogRepository.findByCreatedAtBetweenOrderByCreatedAtDesc(start, end);
+    private AuditLog toAuditLog(AuditEvent event) {
+        return AuditLog.builder()
+                .eventType(event.getEventType())
+                .userId(event.getUserId())
+                .username(event.getUsername())
+                .entityType(event.getEntityType())
+                .entityId(event.getEntityId())
+                .action(event.getAction())
+                .details(event.getDetails())
+                .ipAddress(event.getIpAddress())
+                .createdAt(event.getTimestamp() != null ? event.getTimestamp() : LocalDateTime.now())
+                .build();
     }
 }
-
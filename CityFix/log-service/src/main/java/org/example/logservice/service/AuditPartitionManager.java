@@ -0,0 +1,226 @@
+package org.example.logservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Maintains the range partitions of audit_logs (partitioned by created_at). Creates
+ * partitions for the next {@code premake} days/months, splits rows that landed in the
+ * default partition into their own partition, and drops or detaches partitions whose
+ * whole range is older than the retention period.
+ */
+@Slf4j
+@Component
+public class AuditPartitionManager {
+    static final String PARENT_TABLE = "audit_logs";
+    static final String DEFAULT_PARTITION = "audit_logs_default";
+    static final String PARTITION_PREFIX = "audit_logs_p";
+
+    // Serialises maintenance between log-service instances
+    private static final long ADVISORY_LOCK_KEY = 0x6175_6469_746CL;
+
+    enum Interval {
+        DAY(DateTimeFormatter.ofPattern("yyyyMMdd")),
+        MONTH(DateTimeFormatter.ofPattern("yyyyMM"));
+
+        private final DateTimeFormatter suffixFormat;
+
+        Interval(DateTimeFormatter suffixFormat) {
+            this.suffixFormat = suffixFormat;
+        }
+
+        LocalDate floor(LocalDate date) {
+            return this == DAY ? date : date.withDayOfMonth(1);
+        }
+
+        LocalDate next(LocalDate start) {
+            return this == DAY ? start.plusDays(1) : start.plusMonths(1);
+        }
+
+        String partitionName(LocalDate start) {
+            return PARTITION_PREFIX + start.format(suffixFormat);
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Interval interval;
+    private final int premake;
+    private final Duration retention;
+    private final boolean detachExpired;
+
+    @Autowired
+    public AuditPartitionManager(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${audit.partitions.interval:day}") String interval,
+                                 @Value("${audit.partitions.premake:7}") int premake,
+                                 @Value("${audit.partitions.retention:90d}") Duration retention,
+                                 @Value("${audit.partitions.retention-action:drop}") String retentionAction) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.interval = Interval.valueOf(interval.trim().toUpperCase(Locale.ROOT));
+        this.premake = premake;
+        this.retention = retention;
+        this.detachExpired = switch (retentionAction.trim().toLowerCase(Locale.ROOT)) {
+            case "drop" -> false;
+            case "detach" -> true;
+            default -> throw new IllegalArgumentException("audit.partitions.retention-action must be drop or detach");
+        };
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${audit.partitions.maintenance-cron:0 15 0 * * *}")
+    public void maintain() {
+        try {
+            maintain(LocalDateTime.now());
+        } catch (Exception e) {
+            log.error("Audit partition maintenance failed: {}", e.getMessage(), e);
+        }
+    }
+
+    void maintain(LocalDateTime now) {
+        String relkind = jdbcTemplate.queryForObject(
+                "SELECT COALESCE((SELECT relkind::text FROM pg_class WHERE oid = to_regclass(?)), '')",
+                String.class, PARENT_TABLE);
+        if (!"p".equals(relkind)) {
+            log.warn("{} is not a partitioned table, skipping partition maintenance", PARENT_TABLE);
+            return;
+        }
+
+        LocalDateTime cutoff = now.minus(retention);
+        Set<String> attached = attachedPartitions();
+
+        // From the oldest row parked in the default partition (within retention) up to premake ahead
+        LocalDate first = interval.floor(now.toLocalDate());
+        Timestamp oldestDefault = jdbcTemplate.queryForObject(
+                "SELECT MIN(created_at) FROM " + DEFAULT_PARTITION, Timestamp.class);
+        if (oldestDefault != null) {
+            LocalDateTime oldest = oldestDefault.toLocalDateTime().isBefore(cutoff)
+                    ? cutoff : oldestDefault.toLocalDateTime();
+            if (oldest.toLocalDate().isBefore(first)) {
+                first = interval.floor(oldest.toLocalDate());
+            }
+        }
+        LocalDate last = interval.floor(now.toLocalDate());
+        for (int i = 0; i < premake; i++) {
+            last = interval.next(last);
+        }
+
+        int created = 0;
+        for (LocalDate start = first; !start.isAfter(last); start = interval.next(start)) {
+            String name = interval.partitionName(start);
+            if (!attached.contains(name) && createPartition(name, start, interval.next(start))) {
+                created++;
+            }
+        }
+
+        int expired = 0;
+        for (String name : attached) {
+            LocalDate end = partitionEnd(name);
+            if (end != null && !end.atStartOfDay().isAfter(cutoff)) {
+                expirePartition(name);
+                expired++;
+            }
+        }
+
+        int purged = jdbcTemplate.update("DELETE FROM " + DEFAULT_PARTITION + " WHERE created_at < ?",
+                Timestamp.valueOf(cutoff));
+
+        log.info("Audit partition maintenance: {} created, {} {}, {} expired rows purged from default",
+                created, expired, detachExpired ? "detached" : "dropped", purged);
+    }
+
+    private Set<String> attachedPartitions() {
+        List<String> names = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = to_regclass(?)", String.class, PARENT_TABLE);
+        return new HashSet<>(names);
+    }
+
+    /**
+     * Creates the partition as a plain table, moves any matching rows out of the default
+     * partition and attaches it; attaching would fail while the default still held them.
+     */
+    private boolean createPartition(String name, LocalDate start, LocalDate end) {
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(?)", Object.class, ADVISORY_LOCK_KEY);
+                if (attachedPartitions().contains(name)) {
+                    return false;
+                }
+                Timestamp from = Timestamp.valueOf(start.atStartOfDay());
+                Timestamp to = Timestamp.valueOf(end.atStartOfDay());
+
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + name +
+                        " (LIKE " + PARENT_TABLE + " INCLUDING DEFAULTS)");
+                int moved = jdbcTemplate.update("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION +
+                        " WHERE created_at >= ? AND created_at < ? RETURNING *) " +
+                        "INSERT INTO " + name + " SELECT * FROM moved", from, to);
+                jdbcTemplate.execute("ALTER TABLE " + PARENT_TABLE + " ATTACH PARTITION " + name +
+                        " FOR VALUES FROM ('" + start.atStartOfDay() + "') TO ('" + end.atStartOfDay() + "')");
+
+                log.info("Created audit partition {} [{}, {}){}", name, start, end,
+                        moved > 0 ? ", moved " + moved + " rows from default" : "");
+                return true;
+            }));
+        } catch (Exception e) {
+            // e.g. overlapping range after switching between day and month partitions
+            log.error("Failed to create audit partition {}: {}", name, e.getMessage());
+            return false;
+        }
+    }
+
+    private void expirePartition(String name) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(?)", Object.class, ADVISORY_LOCK_KEY);
+            if (detachExpired) {
+                // Kept as a standalone table for archiving
+                jdbcTemplate.execute("ALTER TABLE " + PARENT_TABLE + " DETACH PARTITION " + name);
+            } else {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + name);
+            }
+        });
+        log.info("{} expired audit partition {}", detachExpired ? "Detached" : "Dropped", name);
+    }
+
+    /**
+     * Exclusive upper bound of a partition created by this class (either interval), or
+     * null for the default partition and anything else attached by hand.
+     */
+    static LocalDate partitionEnd(String name) {
+        if (!name.startsWith(PARTITION_PREFIX)) {
+            return null;
+        }
+        String suffix = name.substring(PARTITION_PREFIX.length());
+        try {
+            if (suffix.length() == 8) {
+                return LocalDate.parse(suffix, Interval.DAY.suffixFormat).plusDays(1);
+            }
+            if (suffix.length() == 6) {
+                return YearMonth.parse(suffix, Interval.MONTH.suffixFormat).plusMonths(1).atDay(1);
+            }
+        } catch (Exception e) {
+            return null;
+        }
+        return null;
+    }
+}
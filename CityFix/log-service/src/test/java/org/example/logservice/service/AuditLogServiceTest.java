@@ -1,17 +1,15 @@
 package org.example.logservice.service;
 
+import org.example.logservice.dto.AuditLogPageResponse;
 import org.example.logservice.entity.AuditLog;
 import org.example.logservice.event.AuditEvent;
 import org.example.logservice.repository.AuditLogRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -101,262 +99,161 @@ class AuditLogServiceTest {
     }
 
     @Test
-    void testGetAllLogsSuccess() {
-        AuditLog log1 = AuditLog.builder()
-                .id(1L)
+    void testLogEventsSavesWholeBatchAtOnce() {
+        AuditEvent login = AuditEvent.builder()
                 .eventType("USER")
                 .userId(1L)
-                .username("user1")
+                .username("testuser")
                 .action("login")
-                .createdAt(LocalDateTime.now())
+                .timestamp(LocalDateTime.of(2026, 1, 16, 10, 30))
                 .build();
 
-        AuditLog log2 = AuditLog.builder()
-                .id(2L)
+        AuditEvent create = AuditEvent.builder()
                 .eventType("REPORT")
                 .userId(2L)
-                .username("user2")
-                .action("create")
-                .createdAt(LocalDateTime.now().minusHours(1))
+                .username("reportuser")
+                .action("report.create")
+                .timestamp(null)
                 .build();
 
-        Pageable pageable = PageRequest.of(0, 50);
-        Page<AuditLog> page = new PageImpl<>(Arrays.asList(log1, log2));
-
-        when(auditLogRepository.findAllByOrderByCreatedAtDesc(any(Pageable.class))).thenReturn(page);
+        auditLogService.logEvents(Arrays.asList(login, create));
 
-        List<AuditLog> logs = auditLogService.getAllLogs(50);
+        ArgumentCaptor<List<AuditLog>> captor = ArgumentCaptor.forClass(List.class);
+        verify(auditLogRepository).saveAll(captor.capture());
+        verify(auditLogRepository, never()).save(any(AuditLog.class));
 
-        assertNotNull(logs);
-        assertEquals(2, logs.size());
-        assertEquals("USER", logs.get(0).getEventType());
-        assertEquals("REPORT", logs.get(1).getEventType());
-        verify(auditLogRepository).findAllByOrderByCreatedAtDesc(any(Pageable.class));
+        List<AuditLog> saved = captor.getValue();
+        assertEquals(2, saved.size());
+        assertEquals("login", saved.get(0).getAction());
+        assertEquals(LocalDateTime.of(2026, 1, 16, 10, 30), saved.get(0).getCreatedAt());
+        assertNotNull(saved.get(1).getCreatedAt());
     }
 
     @Test
-    void testGetAllLogsEmpty() {
-        Pageable pageable = PageRequest.of(0, 50);
-        Page<AuditLog> emptyPage = new PageImpl<>(Arrays.asList());
-
-        when(auditLogRepository.findAllByOrderByCreatedAtDesc(any(Pageable.class))).thenReturn(emptyPage);
+    void testLogEventsEmptyBatch() {
+        auditLogService.logEvents(List.of());
 
-        List<AuditLog> logs = auditLogService.getAllLogs(50);
-
-        assertNotNull(logs);
-        assertEquals(0, logs.size());
-        verify(auditLogRepository).findAllByOrderByCreatedAtDesc(any(Pageable.class));
+        verify(auditLogRepository, never()).saveAll(any());
     }
 
     @Test
-    void testGetAllLogsWithCustomLimit() {
-        AuditLog log = AuditLog.builder()
-                .id(1L)
-                .eventType("USER")
-                .userId(1L)
-                .username("testuser")
-                .action("login")
-                .createdAt(LocalDateTime.now())
-                .build();
-
-        Pageable pageable = PageRequest.of(0, 100);
-        Page<AuditLog> page = new PageImpl<>(Arrays.asList(log));
-
-        when(auditLogRepository.findAllByOrderByCreatedAtDesc(any(Pageable.class))).thenReturn(page);
-
-        List<AuditLog> logs = auditLogService.getAllLogs(100);
-
-        assertNotNull(logs);
-        assertEquals(1, logs.size());
-        verify(auditLogRepository).findAllByOrderByCreatedAtDesc(any(Pageable.class));
-    }
-
-    @Test
-    void testGetLogsByUserIdSuccess() {
+    void testGetLogsSuccess() {
         AuditLog log1 = AuditLog.builder()
-                .id(1L)
+                .id(2L)
+                .eventType("USER")
                 .userId(1L)
                 .username("user1")
-                .eventType("USER")
                 .action("login")
                 .createdAt(LocalDateTime.now())
                 .build();
 
         AuditLog log2 = AuditLog.builder()
-                .id(2L)
-                .userId(1L)
-                .username("user1")
+                .id(1L)
                 .eventType("REPORT")
+                .userId(2L)
+                .username("user2")
                 .action("create")
                 .createdAt(LocalDateTime.now().minusHours(1))
                 .build();
 
-        when(auditLogRepository.findByUserIdOrderByCreatedAtDesc(1L))
+        when(auditLogRepository.findPage(null, null, null, null, null, null, null, 51))
                 .thenReturn(Arrays.asList(log1, log2));
 
-        List<AuditLog> logs = auditLogService.getLogsByUserId(1L);
+        AuditLogPageResponse page = auditLogService.getLogs(null, null, null, null, null, null, 50);
 
-        assertNotNull(logs);
-        assertEquals(2, logs.size());
-        assertTrue(logs.stream().allMatch(log -> log.getUserId().equals(1L)));
-        verify(auditLogRepository).findByUserIdOrderByCreatedAtDesc(1L);
+        assertNotNull(page);
+        assertEquals(2, page.getItems().size());
+        assertEquals("USER", page.getItems().get(0).getEventType());
+        assertEquals("REPORT", page.getItems().get(1).getEventType());
+        assertNull(page.getNextCursor());
     }
 
     @Test
-    void testGetLogsByUserIdEmpty() {
-        when(auditLogRepository.findByUserIdOrderByCreatedAtDesc(999L))
-                .thenReturn(Arrays.asList());
+    void testGetLogsEmpty() {
+        when(auditLogRepository.findPage(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), anyInt()))
+                .thenReturn(List.of());
 
-        List<AuditLog> logs = auditLogService.getLogsByUserId(999L);
+        AuditLogPageResponse page = auditLogService.getLogs(null, null, null, null, null, null, null);
 
-        assertNotNull(logs);
-        assertEquals(0, logs.size());
-        verify(auditLogRepository).findByUserIdOrderByCreatedAtDesc(999L);
+        assertNotNull(page);
+        assertEquals(0, page.getItems().size());
+        assertNull(page.getNextCursor());
     }
 
     @Test
-    void testGetLogsByUserIdMultipleRecords() {
-        List<AuditLog> userLogs = Arrays.asList(
-                AuditLog.builder().id(1L).userId(1L).eventType("USER").createdAt(LocalDateTime.now()).build(),
-                AuditLog.builder().id(2L).userId(1L).eventType("REPORT").createdAt(LocalDateTime.now().minusMinutes(10)).build(),
-                AuditLog.builder().id(3L).userId(1L).eventType("USER").createdAt(LocalDateTime.now().minusHours(1)).build()
-        );
-
-        when(auditLogRepository.findByUserIdOrderByCreatedAtDesc(1L)).thenReturn(userLogs);
+    void testGetLogsDefaultLimit() {
+        when(auditLogRepository.findPage(any(), any(), any(), any(), any(), any(), any(), anyInt()))
+                .thenReturn(List.of());
 
-        List<AuditLog> logs = auditLogService.getLogsByUserId(1L);
+        auditLogService.getLogs(null, null, null, null, null, null, null);
 
-        assertNotNull(logs);
-        assertEquals(3, logs.size());
-        verify(auditLogRepository).findByUserIdOrderByCreatedAtDesc(1L);
+        verify(auditLogRepository).findPage(null, null, null, null, null, null, null,
+                AuditLogService.DEFAULT_LIMIT + 1);
     }
 
     @Test
-    void testGetLogsByEventTypeSuccess() {
-        AuditLog log1 = AuditLog.builder()
-                .id(1L)
-                .eventType("USER")
-                .userId(1L)
-                .username("user1")
-                .action("login")
-                .createdAt(LocalDateTime.now())
-                .build();
-
-        AuditLog log2 = AuditLog.builder()
-                .id(2L)
-                .eventType("USER")
-                .userId(2L)
-                .username("user2")
-                .action("register")
-                .createdAt(LocalDateTime.now().minusHours(1))
-                .build();
+    void testGetLogsLimitIsCapped() {
+        when(auditLogRepository.findPage(any(), any(), any(), any(), any(), any(), any(), anyInt()))
+                .thenReturn(List.of());
 
-        when(auditLogRepository.findByEventTypeOrderByCreatedAtDesc("USER"))
-                .thenReturn(Arrays.asList(log1, log2));
-
-        List<AuditLog> logs = auditLogService.getLogsByEventType("USER");
+        auditLogService.getLogs(1L, null, null, null, null, null, 1_000_000);
 
-        assertNotNull(logs);
-        assertEquals(2, logs.size());
-        assertTrue(logs.stream().allMatch(log -> log.getEventType().equals("USER")));
-        verify(auditLogRepository).findByEventTypeOrderByCreatedAtDesc("USER");
+        verify(auditLogRepository).findPage(1L, null, null, null, null, null, null, 1001);
     }
 
     @Test
-    void testGetLogsByEventTypeEmpty() {
-        when(auditLogRepository.findByEventTypeOrderByCreatedAtDesc("NONEXISTENT"))
-                .thenReturn(Arrays.asList());
+    void testGetLogsPassesAllFilters() {
+        LocalDateTime from = LocalDateTime.now().minusDays(7);
+        LocalDateTime to = LocalDateTime.now();
+        when(auditLogRepository.findPage(any(), any(), any(), any(), any(), any(), any(), anyInt()))
+                .thenReturn(List.of());
 
-        List<AuditLog> logs = auditLogService.getLogsByEventType("NONEXISTENT");
+        auditLogService.getLogs(1L, "REPORT", "report.create", from, to, null, 20);
 
-        assertNotNull(logs);
-        assertEquals(0, logs.size());
-        verify(auditLogRepository).findByEventTypeOrderByCreatedAtDesc("NONEXISTENT");
+        verify(auditLogRepository).findPage(1L, "REPORT", "report.create", from, to, null, null, 21);
     }
 
     @Test
-    void testGetLogsByEventTypeMultipleRecords() {
-        List<AuditLog> reportLogs = Arrays.asList(
-                AuditLog.builder().id(1L).eventType("REPORT").userId(1L).action("create").createdAt(LocalDateTime.now()).build(),
-                AuditLog.builder().id(2L).eventType("REPORT").userId(2L).action("update").createdAt(LocalDateTime.now().minusMinutes(30)).build(),
-                AuditLog.builder().id(3L).eventType("REPORT").userId(3L).action("delete").createdAt(LocalDateTime.now().minusHours(2)).build()
+    void testGetLogsReturnsCursorWhenMoreRowsExist() {
+        LocalDateTime now = LocalDateTime.now();
+        List<AuditLog> rows = Arrays.asList(
+                AuditLog.builder().id(3L).userId(1L).eventType("USER").createdAt(now).build(),
+                AuditLog.builder().id(2L).userId(1L).eventType("REPORT").createdAt(now.minusMinutes(10)).build(),
+                AuditLog.builder().id(1L).userId(1L).eventType("USER").createdAt(now.minusHours(1)).build()
         );
+        when(auditLogRepository.findPage(eq(1L), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), eq(3)))
+                .thenReturn(rows);
 
-        when(auditLogRepository.findByEventTypeOrderByCreatedAtDesc("REPORT")).thenReturn(reportLogs);
+        AuditLogPageResponse page = auditLogService.getLogs(1L, null, null, null, null, null, 2);
 
-        List<AuditLog> logs = auditLogService.getLogsByEventType("REPORT");
+        assertEquals(2, page.getItems().size());
+        assertNotNull(page.getNextCursor());
 
-        assertNotNull(logs);
-        assertEquals(3, logs.size());
-        verify(auditLogRepository).findByEventTypeOrderByCreatedAtDesc("REPORT");
-    }
+        when(auditLogRepository.findPage(eq(1L), isNull(), isNull(), isNull(), isNull(),
+                eq(now.minusMinutes(10)), eq(2L), eq(3)))
+                .thenReturn(List.of(rows.get(2)));
 
-    @Test
-    void testGetLogsByDateRangeSuccess() {
-        LocalDateTime startDate = LocalDateTime.now().minusDays(7);
-        LocalDateTime endDate = LocalDateTime.now();
+        AuditLogPageResponse next = auditLogService.getLogs(1L, null, null, null, null, page.getNextCursor(), 2);
 
-        AuditLog log1 = AuditLog.builder()
-                .id(1L)
-                .eventType("USER")
-                .userId(1L)
-                .username("user1")
-                .action("login")
-                .createdAt(LocalDateTime.now().minusDays(3))
-                .build();
-
-        AuditLog log2 = AuditLog.builder()
-                .id(2L)
-                .eventType("REPORT")
-                .userId(2L)
-                .username("user2")
-                .action("create")
-                .createdAt(LocalDateTime.now().minusDays(1))
-                .build();
-
-        when(auditLogRepository.findByCreatedAtBetweenOrderByCreatedAtDesc(startDate, endDate))
-                .thenReturn(Arrays.asList(log1, log2));
-
-        List<AuditLog> logs = auditLogService.getLogsByDateRange(startDate, endDate);
-
-        assertNotNull(logs);
-        assertEquals(2, logs.size());
-        verify(auditLogRepository).findByCreatedAtBetweenOrderByCreatedAtDesc(startDate, endDate);
+        assertEquals(1, next.getItems().size());
+        assertEquals(1L, next.getItems().get(0).getId());
+        assertNull(next.getNextCursor());
     }
 
     @Test
-    void testGetLogsByDateRangeEmpty() {
-        LocalDateTime startDate = LocalDateTime.now().minusDays(30);
-        LocalDateTime endDate = LocalDateTime.now().minusDays(20);
-
-        when(auditLogRepository.findByCreatedAtBetweenOrderByCreatedAtDesc(startDate, endDate))
-                .thenReturn(Arrays.asList());
-
-        List<AuditLog> logs = auditLogService.getLogsByDateRange(startDate, endDate);
-
-        assertNotNull(logs);
-        assertEquals(0, logs.size());
-        verify(auditLogRepository).findByCreatedAtBetweenOrderByCreatedAtDesc(startDate, endDate);
+    void testGetLogsRejectsInvalidCursor() {
+        assertThrows(IllegalArgumentException.class,
+                () -> auditLogService.getLogs(null, null, null, null, null, "not-a-cursor", 10));
+        verifyNoInteractions(auditLogRepository);
     }
 
     @Test
-    void testGetLogsByDateRangeMultipleRecords() {
-        LocalDateTime startDate = LocalDateTime.now().minusDays(10);
-        LocalDateTime endDate = LocalDateTime.now();
-
-        List<AuditLog> logs = Arrays.asList(
-                AuditLog.builder().id(1L).eventType("USER").createdAt(LocalDateTime.now().minusDays(5)).build(),
-                AuditLog.builder().id(2L).eventType("REPORT").createdAt(LocalDateTime.now().minusDays(3)).build(),
-                AuditLog.builder().id(3L).eventType("USER").createdAt(LocalDateTime.now().minusDays(1)).build()
-        );
-
-        when(auditLogRepository.findByCreatedAtBetweenOrderByCreatedAtDesc(startDate, endDate))
-                .thenReturn(logs);
-
-        List<AuditLog> result = auditLogService.getLogsByDateRange(startDate, endDate);
+    void testGetLogsRejectsInvertedRange() {
+        LocalDateTime from = LocalDateTime.now();
+        LocalDateTime to = from.minusDays(1);
 
-        assertNotNull(result);
-        assertEquals(3, result.size());
-        verify(auditLogRepository).findByCreatedAtBetweenOrderByCreatedAtDesc(startDate, endDate);
+        assertThrows(IllegalArgumentException.class,
+                () -> auditLogService.getLogs(null, null, null, from, to, null, 10));
+        verifyNoInteractions(auditLogRepository);
     }
 }
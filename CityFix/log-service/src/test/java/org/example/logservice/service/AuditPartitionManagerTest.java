@@ -0,0 +1,116 @@
+package org.example.logservice.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditPartitionManagerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 17, 0, 15);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AuditPartitionManager manager(String interval, int premake, Duration retention, String action) {
+        return new AuditPartitionManager(jdbcTemplate, transactionManager, interval, premake, retention, action);
+    }
+
+    private void stubPartitioned(List<String> attached) {
+        when(jdbcTemplate.queryForObject(startsWith("SELECT COALESCE"), eq(String.class), any()))
+                .thenReturn("p");
+        when(jdbcTemplate.queryForList(contains("pg_inherits"), eq(String.class), any()))
+                .thenReturn(attached);
+        when(jdbcTemplate.queryForObject(startsWith("SELECT MIN(created_at)"), eq(Timestamp.class)))
+                .thenReturn(null);
+    }
+
+    @Test
+    void testPartitionEnd() {
+        assertEquals(LocalDate.of(2026, 10, 18), AuditPartitionManager.partitionEnd("audit_logs_p20261017"));
+        assertEquals(LocalDate.of(2026, 11, 1), AuditPartitionManager.partitionEnd("audit_logs_p202610"));
+        assertNull(AuditPartitionManager.partitionEnd("audit_logs_default"));
+        assertNull(AuditPartitionManager.partitionEnd("audit_logs_archive"));
+    }
+
+    @Test
+    void testMaintainCreatesCurrentAndUpcomingDailyPartitions() {
+        stubPartitioned(List.of("audit_logs_default", "audit_logs_p20261017"));
+
+        manager("day", 2, Duration.ofDays(90), "drop").maintain(NOW);
+
+        verify(jdbcTemplate, never()).execute(contains("ATTACH PARTITION audit_logs_p20261017 "));
+        verify(jdbcTemplate).execute("ALTER TABLE audit_logs ATTACH PARTITION audit_logs_p20261018" +
+                " FOR VALUES FROM ('2026-10-18T00:00') TO ('2026-10-19T00:00')");
+        verify(jdbcTemplate).execute("ALTER TABLE audit_logs ATTACH PARTITION audit_logs_p20261019" +
+                " FOR VALUES FROM ('2026-10-19T00:00') TO ('2026-10-20T00:00')");
+        verify(jdbcTemplate, never()).execute(contains("audit_logs_p20261020"));
+    }
+
+    @Test
+    void testMaintainCreatesMonthlyPartitions() {
+        stubPartitioned(List.of("audit_logs_default"));
+
+        manager("month", 1, Duration.ofDays(365), "drop").maintain(NOW);
+
+        verify(jdbcTemplate).execute("ALTER TABLE audit_logs ATTACH PARTITION audit_logs_p202610" +
+                " FOR VALUES FROM ('2026-10-01T00:00') TO ('2026-11-01T00:00')");
+        verify(jdbcTemplate).execute("ALTER TABLE audit_logs ATTACH PARTITION audit_logs_p202611" +
+                " FOR VALUES FROM ('2026-11-01T00:00') TO ('2026-12-01T00:00')");
+    }
+
+    @Test
+    void testMaintainDropsExpiredPartitions() {
+        stubPartitioned(List.of("audit_logs_default", "audit_logs_p20260101", "audit_logs_p20261017"));
+
+        manager("day", 0, Duration.ofDays(30), "drop").maintain(NOW);
+
+        verify(jdbcTemplate).execute("DROP TABLE IF EXISTS audit_logs_p20260101");
+        verify(jdbcTemplate, never()).execute("DROP TABLE IF EXISTS audit_logs_p20261017");
+        verify(jdbcTemplate, never()).execute(contains("DROP TABLE IF EXISTS audit_logs_default"));
+        verify(jdbcTemplate).update(startsWith("DELETE FROM audit_logs_default"), any(Timestamp.class));
+    }
+
+    @Test
+    void testMaintainDetachesExpiredPartitionsWhenConfigured() {
+        stubPartitioned(List.of("audit_logs_p20260101", "audit_logs_p20261017"));
+
+        manager("day", 0, Duration.ofDays(30), "detach").maintain(NOW);
+
+        verify(jdbcTemplate).execute("ALTER TABLE audit_logs DETACH PARTITION audit_logs_p20260101");
+        verify(jdbcTemplate, never()).execute(startsWith("DROP TABLE"));
+    }
+
+    @Test
+    void testMaintainSkipsUnpartitionedTable() {
+        when(jdbcTemplate.queryForObject(startsWith("SELECT COALESCE"), eq(String.class), any()))
+                .thenReturn("r");
+
+        manager("day", 7, Duration.ofDays(90), "drop").maintain(NOW);
+
+        verify(jdbcTemplate, never()).execute(anyString());
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
+
+    @Test
+    void testInvalidRetentionActionRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> manager("day", 7, Duration.ofDays(90), "archive"));
+    }
+}
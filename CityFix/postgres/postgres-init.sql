@@ -37,10 +37,28 @@ CREATE TABLE IF NOT EXISTS reports (
     priority VARCHAR(50) DEFAULT 'MEDIUM',
     latitude FLOAT,
     longitude FLOAT,
+    geohash VARCHAR(12) COLLATE "C",
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+-- Columns added after the initial schema (no-op on fresh databases)
+ALTER TABLE reports ADD COLUMN IF NOT EXISTS geohash VARCHAR(12) COLLATE "C";
+
+-- SimHash of title/description for near-duplicate detection (computed by report-service)
+ALTER TABLE reports ADD COLUMN IF NOT EXISTS simhash BIGINT;
+
+-- Optimistic locking: bumped by every update, exposed as the ETag of GET /reports/{id}
+ALTER TABLE reports ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- Full-text search over title (weight A) and description (weight B); 'simple' does not
+-- stem, so Polish text matches word prefixes as typed
+ALTER TABLE reports ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+    ) STORED;
+
 -- =========================
 -- Indexes
 -- =========================
@@ -53,6 +71,132 @@ CREATE INDEX IF NOT EXISTS idx_reports_status
 CREATE INDEX IF NOT EXISTS idx_reports_coordinates
     ON reports(latitude, longitude);
 
+-- Geohash prefix ranges for /reports/nearby and /reports/within ("C" collation keeps byte order)
+CREATE INDEX IF NOT EXISTS idx_reports_geohash
+    ON reports(geohash);
+
+-- GET /reports/search (search_vector @@ tsquery, including prefix terms)
+CREATE INDEX IF NOT EXISTS idx_reports_search_vector
+    ON reports USING GIN (search_vector);
+
+-- Keyset pagination on (created_at, id), optionally narrowed by a filter
+CREATE INDEX IF NOT EXISTS idx_reports_created_at_id
+    ON reports(created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_reports_status_created_at_id
+    ON reports(status, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_reports_category_created_at_id
+    ON reports(category, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_reports_priority_created_at_id
+    ON reports(priority, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_reports_user_id_created_at_id
+    ON reports(user_id, created_at DESC, id DESC);
+
+-- =========================
+-- Outbox for report-service events (relayed to RabbitMQ)
+-- =========================
+CREATE TABLE IF NOT EXISTS report_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    exchange VARCHAR(100) NOT NULL,
+    routing_key VARCHAR(100) NOT NULL,
+    type_id VARCHAR(255),
+    payload TEXT NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error VARCHAR(500),
+    -- NULL = due now; set to the retry time after a failure and while a relay holds the row
+    next_attempt_at TIMESTAMP,
+    -- Set once attempts reaches outbox.relay.max-attempts; parked rows are no longer relayed
+    parked_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_report_outbox_pending
+    ON report_outbox(id) WHERE parked_at IS NULL;
+
+-- =========================
+-- Processed ReportCreatedEvents (user-service reports_count idempotency)
+-- =========================
+CREATE TABLE IF NOT EXISTS processed_report_events (
+    report_id BIGINT PRIMARY KEY,
+    processed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_processed_report_events_processed_at
+    ON processed_report_events(processed_at);
+
+-- =========================
+-- Audit logs table (log-service)
+-- =========================
+-- Ids come from a sequence with INCREMENT 50 (Hibernate pooled optimizer),
+-- which lets log-service batch its inserts
+CREATE SEQUENCE IF NOT EXISTS audit_logs_seq INCREMENT BY 50;
+
+-- Databases created before partitioning: set the plain table aside, rows are copied back below
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_class WHERE oid = to_regclass('audit_logs') AND relkind = 'r') THEN
+        ALTER TABLE audit_logs RENAME TO audit_logs_unpartitioned;
+        IF EXISTS (SELECT 1 FROM pg_constraint
+                   WHERE conname = 'audit_logs_pkey' AND conrelid = 'audit_logs_unpartitioned'::regclass) THEN
+            ALTER TABLE audit_logs_unpartitioned RENAME CONSTRAINT audit_logs_pkey TO audit_logs_unpartitioned_pkey;
+        END IF;
+    END IF;
+END $$;
+
+-- Range-partitioned by created_at. log-service (AuditPartitionManager) creates the
+-- daily/monthly partitions ahead of time and drops or detaches expired ones.
+-- The primary key has to include the partition key.
+CREATE TABLE IF NOT EXISTS audit_logs (
+    id BIGINT NOT NULL,
+    event_type VARCHAR(100) NOT NULL,
+    user_id BIGINT,
+    username VARCHAR(100),
+    entity_type VARCHAR(100),
+    entity_id BIGINT,
+    action VARCHAR(50),
+    details TEXT,
+    ip_address VARCHAR(50),
+    created_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- Rows outside the existing partitions; moved out when their partition gets created
+CREATE TABLE IF NOT EXISTS audit_logs_default PARTITION OF audit_logs DEFAULT;
+
+-- Keyset pagination for GET /logs: one index per filter combination, each ending in (created_at, id)
+CREATE INDEX IF NOT EXISTS idx_audit_logs_created_at
+    ON audit_logs(created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_audit_logs_user_created
+    ON audit_logs(user_id, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_audit_logs_event_type_created
+    ON audit_logs(event_type, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_audit_logs_user_event_type_created
+    ON audit_logs(user_id, event_type, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_audit_logs_action_created
+    ON audit_logs(action, created_at DESC, id DESC);
+
+DO $$
+BEGIN
+    IF to_regclass('audit_logs_unpartitioned') IS NOT NULL THEN
+        INSERT INTO audit_logs (id, event_type, user_id, username, entity_type, entity_id,
+                                action, details, ip_address, created_at)
+        SELECT id, event_type, user_id, username, entity_type, entity_id,
+               action, details, ip_address, created_at
+        FROM audit_logs_unpartitioned;
+        DROP TABLE audit_logs_unpartitioned;
+    END IF;
+END $$;
+
+-- Move the sequence past ids handed out before it existed (IDENTITY column)
+SELECT setval('audit_logs_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM audit_logs), 1));
+
 -- =========================
 -- Foreign Keys
 -- =========================
@@ -13,6 +13,9 @@ repositories {
 }
 
 dependencies {
+    // Shared virtual-thread support (CityFix/common)
+    implementation("org.example:common:1.0-SNAPSHOT")
+
     // Spring Boot
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
@@ -27,6 +30,9 @@ dependencies {
     // Database
     implementation("org.postgresql:postgresql:42.7.1")
 
+    // In-process caching
+    implementation("com.github.ben-manes.caffeine:caffeine")
+
     // JWT
     implementation("io.jsonwebtoken:jjwt-api:0.12.3")
     runtimeOnly("io.jsonwebtoken:jjwt-impl:0.12.3")
@@ -1,2 +1,4 @@
 rootProject.name = "report-service"
 
+// Shared code (virtual-thread support); a composite build so this directory still builds on its own
+includeBuild("../common")
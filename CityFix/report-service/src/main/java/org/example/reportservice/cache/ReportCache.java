@@ -0,0 +1,77 @@
+package org.example.reportservice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.example.reportservice.dto.ReportResponse;
+import org.example.reportservice.messaging.ReportEventPublisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of report details keyed by id. Hit, miss and
+ * eviction counts are published as the "reports" cache in Micrometer.
+ */
+@Slf4j
+@Component
+public class ReportCache {
+    public static final String CACHE_NAME = "reports";
+
+    private final Cache<Long, ReportResponse> cache;
+    private final ReportEventPublisher eventPublisher;
+
+    @Autowired
+    public ReportCache(MeterRegistry meterRegistry,
+                       ReportEventPublisher eventPublisher,
+                       @Value("${reports.cache.max-size:10000}") long maxSize,
+                       @Value("${reports.cache.ttl:5m}") Duration ttl) {
+        this.eventPublisher = eventPublisher;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public ReportResponse get(Long id, Function<Long, ReportResponse> loader) {
+        return cache.get(id, loader);
+    }
+
+    /**
+     * Drops the entry now and again once the surrounding transaction commits, so a
+     * concurrent reader cannot re-cache the pre-commit row. Other instances are
+     * told to do the same after commit.
+     */
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(id);
+                    eventPublisher.publishReportInvalidated(id);
+                }
+            });
+        } else {
+            eventPublisher.publishReportInvalidated(id);
+        }
+    }
+
+    /**
+     * Local-only eviction, used when another instance broadcasts an invalidation.
+     */
+    public void invalidateLocal(Long id) {
+        log.debug("Evicting report {} from local cache", id);
+        cache.invalidate(id);
+    }
+}
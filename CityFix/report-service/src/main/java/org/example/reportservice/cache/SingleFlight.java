@@ -0,0 +1,124 @@
+package org.example.reportservice.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent identical reads into one call: the first caller for a key runs
+ * the loader, callers arriving while it is in flight wait for and share its result (or
+ * exception). Nothing is kept once the call completes, so this is not a cache.
+ * <p>
+ * Shared results must be treated as immutable by every caller.
+ */
+@Component
+public class SingleFlight {
+
+    record FlightKey(String operation, Object key) {
+    }
+
+    private final Map<FlightKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public SingleFlight(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gauge("reports.singleflight.inflight", inFlight, Map::size);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, Object key, Supplier<T> loader) {
+        FlightKey flightKey = new FlightKey(operation, key);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, flight);
+        if (existing != null) {
+            counter(operation, "coalesced").increment();
+            return (T) await(existing);
+        }
+
+        counter(operation, "executed").increment();
+        try {
+            T result = loader.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+    /**
+     * Detaches in-flight calls of the operation (all keys) so later callers start a fresh
+     * read; callers already waiting still get the old result. Repeated after the
+     * surrounding transaction commits, so nobody joins a read that began before the write.
+     */
+    public void forget(String operation) {
+        forgetNow(operation);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    forgetNow(operation);
+                }
+            });
+        }
+    }
+
+    /**
+     * Same as {@link #forget(String)} for a single key.
+     */
+    public void forget(String operation, Object key) {
+        FlightKey flightKey = new FlightKey(operation, key);
+        inFlight.remove(flightKey);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    inFlight.remove(flightKey);
+                }
+            });
+        }
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private void forgetNow(String operation) {
+        inFlight.keySet().removeIf(flightKey -> flightKey.operation().equals(operation));
+    }
+
+    private static Object await(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            // Rethrow the leader's exception as is, e.g. IllegalArgumentException -> 404/400
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private Counter counter(String operation, String outcome) {
+        return Counter.builder("reports.singleflight.requests")
+                .description("Reads that ran the loader (executed) or shared an in-flight call (coalesced)")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
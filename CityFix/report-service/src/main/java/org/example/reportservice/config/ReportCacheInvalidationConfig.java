@@ -0,0 +1,37 @@
+package org.example.reportservice.config;
+
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Per-instance, auto-delete queue on the reports exchange so every replica
+ * hears about cache invalidations published by the others.
+ */
+@Configuration
+@ConditionalOnProperty(name = "reports.cache.broadcast-invalidation", havingValue = "true")
+public class ReportCacheInvalidationConfig {
+
+    @Value("${rabbitmq.routing-key.report-invalidated:report.invalidated}")
+    private String reportInvalidatedRoutingKey;
+
+    @Bean
+    public AnonymousQueue reportInvalidationQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding reportInvalidationBinding(AnonymousQueue reportInvalidationQueue,
+                                             @Qualifier("reportsExchange") TopicExchange reportsExchange) {
+        return BindingBuilder
+                .bind(reportInvalidationQueue)
+                .to(reportsExchange)
+                .with(reportInvalidatedRoutingKey);
+    }
+}
@@ -3,14 +3,28 @@ package org.example.reportservice.controller;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.example.reportservice.dto.BatchCreateReportsRequest;
+import org.example.reportservice.dto.BatchResponse;
+import org.example.reportservice.dto.BatchStatusUpdateRequest;
 import org.example.reportservice.dto.CreateReportRequest;
+import org.example.reportservice.dto.ReportAreaResponse;
+import org.example.reportservice.dto.ReportMarkersResponse;
+import org.example.reportservice.dto.ReportPageResponse;
 import org.example.reportservice.dto.ReportResponse;
+import org.example.reportservice.dto.ReportSearchResponse;
+import org.example.reportservice.dto.ReportStatsResponse;
 import org.example.reportservice.dto.UpdateReportRequest;
+import org.example.reportservice.service.ReportBatchService;
+import org.example.reportservice.service.ReportExportService;
 import org.example.reportservice.service.ReportService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -19,15 +33,21 @@ import java.util.List;
 @RequestMapping("/reports")
 public class ReportController {
     private final ReportService reportService;
+    private final ReportExportService reportExportService;
+    private final ReportBatchService reportBatchService;
 
     @Autowired
-    public ReportController(ReportService reportService) {
+    public ReportController(ReportService reportService, ReportExportService reportExportService,
+                            ReportBatchService reportBatchService) {
         this.reportService = reportService;
+        this.reportExportService = reportExportService;
+        this.reportBatchService = reportBatchService;
     }
 
     @PostMapping
     public ResponseEntity<ReportResponse> createReport(
             @Valid @RequestBody CreateReportRequest request,
+            @RequestParam(defaultValue = "false") boolean mergeDuplicates,
             HttpServletRequest httpRequest) {
         Long userId = (Long) httpRequest.getAttribute("userId");
         log.info("Creating report for user ID: {}", userId);
@@ -38,7 +58,10 @@ public class ReportController {
         }
 
         try {
-            ReportResponse response = reportService.createReport(request, userId);
+            ReportResponse response = reportService.createReport(request, userId, mergeDuplicates);
+            if (Boolean.TRUE.equals(response.getMerged())) {
+                return ResponseEntity.ok(response);
+            }
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
         } catch (Exception e) {
             log.error("Failed to create report: {}", e.getMessage());
@@ -46,19 +69,163 @@ public class ReportController {
         }
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResponse> createReports(
+            @RequestBody BatchCreateReportsRequest request,
+            HttpServletRequest httpRequest) {
+        Long userId = (Long) httpRequest.getAttribute("userId");
+        log.info("Creating report batch for user ID: {}", userId);
+
+        if (userId == null) {
+            log.warn("Unauthorized batch create attempt - missing JWT token");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        try {
+            BatchResponse response = reportBatchService.createReports(request.getReports(), userId);
+            if (response.getFailed() > 0) {
+                return ResponseEntity.badRequest().body(response);
+            }
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (IllegalArgumentException e) {
+            log.warn("Bad report batch: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PatchMapping("/batch/status")
+    public ResponseEntity<BatchResponse> updateStatuses(
+            @RequestBody BatchStatusUpdateRequest request,
+            HttpServletRequest httpRequest) {
+        Long userId = (Long) httpRequest.getAttribute("userId");
+        log.info("Updating report statuses in batch for user ID: {}", userId);
+
+        if (userId == null) {
+            log.warn("Unauthorized batch update attempt - missing JWT token");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        try {
+            return ResponseEntity.ok(reportBatchService.updateStatuses(request.getUpdates(), userId));
+        } catch (IllegalArgumentException e) {
+            log.warn("Bad status batch: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping
-    public ResponseEntity<List<ReportResponse>> getAllReports() {
-        log.info("Getting all reports");
-        List<ReportResponse> reports = reportService.getAllReports();
-        return ResponseEntity.ok(reports);
+    public ResponseEntity<ReportPageResponse> getReports(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String priority,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        log.info("Getting reports: status={}, category={}, priority={}, userId={}, size={}",
+                status, category, priority, userId, size);
+        try {
+            ReportPageResponse page = reportService.getReports(status, category, priority, userId, cursor, size);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            log.warn("Bad reports query: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<ReportSearchResponse> searchReports(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
+        log.info("Searching reports: q={}, page={}, size={}", q, page, size);
+        try {
+            return ResponseEntity.ok(reportService.searchReports(q, page, size));
+        } catch (IllegalArgumentException e) {
+            log.warn("Bad search query: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<ReportStatsResponse> getStats(@RequestParam(required = false) Integer days) {
+        log.info("Getting report statistics for the last {} day(s)", days);
+        try {
+            return ResponseEntity.ok(reportService.getStats(days));
+        } catch (IllegalArgumentException e) {
+            log.warn("Bad stats query: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportReports(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        log.info("Exporting reports as {}", format);
+
+        if (!"ndjson".equalsIgnoreCase(format)) {
+            log.warn("Unsupported export format: {}", format);
+            return ResponseEntity.badRequest().build();
+        }
+
+        StreamingResponseBody body = reportExportService::exportNdjson;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("/nearby")
+    public ResponseEntity<List<ReportResponse>> getNearbyReports(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam double radiusMeters,
+            @RequestParam(required = false) Integer limit) {
+        log.info("Getting reports near ({}, {}) within {} m", lat, lon, radiusMeters);
+        try {
+            return ResponseEntity.ok(reportService.findNearby(lat, lon, radiusMeters, limit));
+        } catch (IllegalArgumentException e) {
+            log.warn("Bad nearby query: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/within")
+    public ResponseEntity<ReportAreaResponse> getReportsWithin(
+            @RequestParam String bbox,
+            @RequestParam(required = false) Integer limit) {
+        log.info("Getting reports within bbox {}", bbox);
+        try {
+            return ResponseEntity.ok(reportService.findWithin(bbox, limit));
+        } catch (IllegalArgumentException e) {
+            log.warn("Bad bbox query: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/map")
+    public ResponseEntity<ReportMarkersResponse> getReportMarkers(
+            @RequestParam String bbox,
+            @RequestParam(required = false) Integer limit) {
+        log.info("Getting report markers within bbox {}", bbox);
+        try {
+            return ResponseEntity.ok(reportService.findMarkersWithin(bbox, limit));
+        } catch (IllegalArgumentException e) {
+            log.warn("Bad map query: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ReportResponse> getReportById(@PathVariable Long id) {
+    public ResponseEntity<ReportResponse> getReportById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Getting report with ID: {}", id);
         try {
             ReportResponse response = reportService.getReportById(id);
-            return ResponseEntity.ok(response);
+            String etag = etagOf(response.getVersion());
+            if (etagMatches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            return ResponseEntity.ok().eTag(etag).body(response);
         } catch (IllegalArgumentException e) {
             log.error("Report not found: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
@@ -69,6 +236,7 @@ public class ReportController {
     public ResponseEntity<ReportResponse> updateReport(
             @PathVariable Long id,
             @Valid @RequestBody UpdateReportRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             HttpServletRequest httpRequest) {
         Long userId = (Long) httpRequest.getAttribute("userId");
         log.info("Updating report ID: {} by user ID: {}", id, userId);
@@ -78,9 +246,23 @@ public class ReportController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
+        Long expectedVersion = null;
+        if (ifMatch != null && !ifMatch.trim().equals("*")) {
+            expectedVersion = versionOf(ifMatch);
+            if (expectedVersion == null) {
+                log.warn("If-Match {} can never match report {}", ifMatch, id);
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+            }
+        }
+
         try {
-            ReportResponse response = reportService.updateReport(id, request, userId);
-            return ResponseEntity.ok(response);
+            ReportResponse response = reportService.updateReport(id, request, userId, expectedVersion);
+            return ResponseEntity.ok().eTag(etagOf(response.getVersion())).body(response);
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("Conflicting update of report {}: {}", id, e.getMessage());
+            // Without If-Match the client did not ask for a precondition, so report a conflict
+            return ResponseEntity.status(ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT)
+                    .build();
         } catch (SecurityException e) {
             log.warn("Forbidden: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
@@ -118,5 +300,42 @@ public class ReportController {
     public ResponseEntity<String> health() {
         return ResponseEntity.ok("Report Service is running");
     }
+
+    static String etagOf(Long version) {
+        return "\"" + (version != null ? version : 0) + "\"";
+    }
+
+    /**
+     * Weak comparison as required for If-None-Match: "W/" prefixes are ignored and "*"
+     * matches any current representation.
+     */
+    static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || (tag.startsWith("W/") ? tag.substring(2) : tag).equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The version in an If-Match header, or null if it is not a single strong ETag sent by
+     * this service (If-Match uses strong comparison, so weak tags never match).
+     */
+    static Long versionOf(String ifMatch) {
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            return null;
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
 }
 
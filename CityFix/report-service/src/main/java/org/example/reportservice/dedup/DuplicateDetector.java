@@ -0,0 +1,130 @@
+package org.example.reportservice.dedup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.example.reportservice.dto.CreateReportRequest;
+import org.example.reportservice.entity.Report;
+import org.example.reportservice.geo.BoundingBox;
+import org.example.reportservice.geo.Geohash;
+import org.example.reportservice.repository.ReportRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Finds recent reports that are probably about the same problem as a new one: created
+ * within the time window, within the radius (geohash index lookup) and, when both have
+ * one, in the same category, with a text SimHash at most max-distance bits away.
+ * Signatures are stored in reports.simhash, so only the nearby rows are compared.
+ * Text with no usable words ({@link SimHash#EMPTY}) never matches: location and category
+ * alone are not enough to call two reports duplicates.
+ */
+@Slf4j
+@Component
+public class DuplicateDetector {
+
+    /**
+     * An existing report with its distance from the new one and the Hamming distance
+     * of their signatures.
+     */
+    public record Match(Report report, double distanceMeters, int bitDistance) {
+        public double similarity() {
+            return 1.0 - bitDistance / 64.0;
+        }
+    }
+
+    private final ReportRepository reportRepository;
+    private final MeterRegistry meterRegistry;
+    private final Timer checkTimer;
+
+    @Value("${reports.duplicates.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${reports.duplicates.radius-meters:50}")
+    private double radiusMeters = 50;
+
+    @Value("${reports.duplicates.window:30d}")
+    private Duration window = Duration.ofDays(30);
+
+    @Value("${reports.duplicates.max-distance:18}")
+    private int maxDistance = 18;
+
+    @Value("${reports.duplicates.max-candidates:200}")
+    private int maxCandidates = 200;
+
+    @Value("${reports.duplicates.max-results:5}")
+    private int maxResults = 5;
+
+    @Autowired
+    public DuplicateDetector(ReportRepository reportRepository, MeterRegistry meterRegistry) {
+        this.reportRepository = reportRepository;
+        this.meterRegistry = meterRegistry;
+        this.checkTimer = Timer.builder("reports.duplicates.check")
+                .description("Time to look up likely duplicates of a new report")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return likely duplicates, most similar first; empty when disabled or the report
+     * has no coordinates or no text to compare
+     */
+    public List<Match> findDuplicates(CreateReportRequest request) {
+        if (!enabled || request.getLatitude() == null || request.getLongitude() == null) {
+            return List.of();
+        }
+        return checkTimer.record(() -> {
+            double lat = request.getLatitude();
+            double lon = request.getLongitude();
+            long signature = SimHash.of(request.getTitle(), request.getDescription());
+            if (signature == SimHash.EMPTY) {
+                meterRegistry.counter("reports.duplicates.checked", "outcome", "no_text").increment();
+                return List.<Match>of();
+            }
+            BoundingBox box = BoundingBox.around(lat, lon, radiusMeters);
+
+            List<Match> matches = new ArrayList<>();
+            for (Report candidate : reportRepository.findInGeohashCells(Geohash.cover(box), box,
+                    LocalDateTime.now().minus(window), maxCandidates)) {
+                if (!sameCategory(request.getCategory(), candidate.getCategory())) {
+                    continue;
+                }
+                double distance = Geohash.distanceMeters(lat, lon, candidate.getLatitude(), candidate.getLongitude());
+                if (distance > radiusMeters) {
+                    continue;
+                }
+                // Rows written before the column existed have no stored signature
+                long candidateSignature = candidate.getSimhash() != null
+                        ? candidate.getSimhash()
+                        : SimHash.of(candidate.getTitle(), candidate.getDescription());
+                if (candidateSignature == SimHash.EMPTY) {
+                    continue;
+                }
+                int bits = SimHash.distance(signature, candidateSignature);
+                if (bits <= maxDistance) {
+                    matches.add(new Match(candidate, distance, bits));
+                }
+            }
+
+            matches.sort(Comparator.comparingInt(Match::bitDistance).thenComparingDouble(Match::distanceMeters));
+            List<Match> result = matches.size() > maxResults ? List.copyOf(matches.subList(0, maxResults)) : matches;
+            meterRegistry.counter("reports.duplicates.checked", "outcome", result.isEmpty() ? "unique" : "duplicate")
+                    .increment();
+            if (!result.isEmpty()) {
+                log.info("New report at ({}, {}) looks like a duplicate of report(s) {}", lat, lon,
+                        result.stream().map(match -> match.report().getId()).toList());
+            }
+            return result;
+        });
+    }
+
+    private static boolean sameCategory(String a, String b) {
+        return a == null || b == null || a.equalsIgnoreCase(b);
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.reportservice.dedup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * 64-bit SimHash of a report's text: similar texts get signatures that differ in few
+ * bits, so near-duplicates are found by Hamming distance. Features are lower-cased words
+ * of at least {@link #MIN_WORD_LENGTH} characters (which drops most Polish function
+ * words) and adjacent word pairs; title features count twice as much as description ones.
+ */
+public final class SimHash {
+    /**
+     * Signature of text without a single feature (no word of {@link #MIN_WORD_LENGTH}+
+     * characters). It carries no text signal and must not be compared by distance.
+     */
+    public static final long EMPTY = 0L;
+
+    static final int MIN_WORD_LENGTH = 3;
+    private static final int TITLE_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private SimHash() {
+    }
+
+    public static long of(String title, String description) {
+        int[] votes = new int[64];
+        boolean any = addFeatures(votes, title, TITLE_WEIGHT);
+        any |= addFeatures(votes, description, DESCRIPTION_WEIGHT);
+        if (!any) {
+            return EMPTY;
+        }
+
+        long signature = 0L;
+        for (int bit = 0; bit < 64; bit++) {
+            if (votes[bit] > 0) {
+                signature |= 1L << bit;
+            }
+        }
+        return signature;
+    }
+
+    public static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    private static boolean addFeatures(int[] votes, String text, int weight) {
+        if (text == null || text.isBlank()) {
+            return false;
+        }
+        boolean any = false;
+        String previous = null;
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.length() < MIN_WORD_LENGTH) {
+                continue;
+            }
+            vote(votes, hash(word), weight);
+            if (previous != null) {
+                vote(votes, hash(previous + ' ' + word), weight);
+            }
+            previous = word;
+            any = true;
+        }
+        return any;
+    }
+
+    private static void vote(int[] votes, long featureHash, int weight) {
+        for (int bit = 0; bit < 64; bit++) {
+            votes[bit] += ((featureHash >>> bit) & 1L) != 0 ? weight : -weight;
+        }
+    }
+
+    /**
+     * FNV-1a over UTF-8 followed by the SplitMix64 finalizer, so every output bit depends
+     * on the whole word.
+     */
+    static long hash(String feature) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : feature.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+        h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+        return h ^ (h >>> 31);
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.reportservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Body of POST /reports/batch. Items are validated individually so every invalid one
+ * can be reported; see {@link BatchResponse}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchCreateReportsRequest {
+    private List<CreateReportRequest> reports;
+}
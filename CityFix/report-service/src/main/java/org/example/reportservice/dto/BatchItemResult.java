@@ -0,0 +1,32 @@
+package org.example.reportservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one item of a batch request, in request order.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult {
+    public enum Outcome {
+        CREATED, UPDATED, UNCHANGED, INVALID, NOT_FOUND, FORBIDDEN, CONFLICT
+    }
+
+    private int index;
+    private Long id;
+    private Outcome outcome;
+    private String error;
+
+    @JsonIgnore
+    public boolean isSuccess() {
+        return outcome == Outcome.CREATED || outcome == Outcome.UPDATED || outcome == Outcome.UNCHANGED;
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.reportservice.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Body of PATCH /reports/batch/status.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchStatusUpdateRequest {
+    private List<Item> updates;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        @NotNull(message = "Id is required")
+        private Long id;
+
+        @NotBlank(message = "Status is required")
+        @Size(max = 50, message = "Status must be less than 50 characters")
+        private String status;
+    }
+}
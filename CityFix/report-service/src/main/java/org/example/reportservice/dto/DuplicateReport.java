@@ -0,0 +1,25 @@
+package org.example.reportservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * An existing report that is probably about the same problem as a new one.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateReport {
+    private Long id;
+    private String title;
+    private String status;
+    private LocalDateTime createdAt;
+    private double distanceMeters;
+    /** 1.0 = identical text signature, 0.5 = unrelated text. */
+    private double similarity;
+}
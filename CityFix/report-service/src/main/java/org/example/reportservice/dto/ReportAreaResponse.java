@@ -0,0 +1,17 @@
+package org.example.reportservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportAreaResponse {
+    private List<ReportResponse> items;
+    private boolean truncated;
+}
@@ -0,0 +1,8 @@
+package org.example.reportservice.dto;
+
+/**
+ * What a map needs to draw a report. Also the JPA projection behind GET /reports/map,
+ * so the other columns (notably description) are never read.
+ */
+public record ReportMarker(Long id, Double latitude, Double longitude, String status, String category) {
+}
@@ -1,11 +1,13 @@
 package org.example.reportservice.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @Builder
@@ -23,5 +25,15 @@ public class ReportResponse {
     private Double longitude;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    /** Incremented by every update; GET /reports/{id} sends it as the ETag. */
+    private Long version;
+
+    /** Likely duplicates of a newly created report; only set by POST /reports. */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<DuplicateReport> possibleDuplicates;
+
+    /** True when POST /reports?mergeDuplicates=true returned an existing report instead of creating one. */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean merged;
 }
 
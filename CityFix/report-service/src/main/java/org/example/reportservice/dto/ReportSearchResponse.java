@@ -0,0 +1,19 @@
+package org.example.reportservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportSearchResponse {
+    private List<ReportResponse> items;
+    private int page;
+    private int size;
+    private boolean hasNext;
+}
@@ -0,0 +1,24 @@
+package org.example.reportservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportStatsResponse {
+    private long total;
+    private Map<String, Long> byStatus;
+    private Map<String, Long> byCategory;
+    private Map<String, Long> byPriority;
+    /** ISO date (yyyy-MM-dd) to number of reports created that day, oldest first. */
+    private Map<String, Long> createdPerDay;
+    /** Last time the counters were recounted from the database. */
+    private LocalDateTime reconciledAt;
+}
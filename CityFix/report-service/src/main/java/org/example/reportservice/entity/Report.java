@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.example.reportservice.dedup.SimHash;
+import org.example.reportservice.geo.Geohash;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -47,6 +49,16 @@ public class Report {
     @Column
     private Double longitude;
 
+    @Column(length = 12)
+    private String geohash;
+
+    @Column
+    private Long simhash;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -54,5 +66,11 @@ public class Report {
     @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
-}
 
+    @PrePersist
+    @PreUpdate
+    protected void updateDerivedColumns() {
+        geohash = latitude != null && longitude != null ? Geohash.encode(latitude, longitude) : null;
+        simhash = SimHash.of(title, description);
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.reportservice.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportInvalidatedEvent {
+    private Long reportId;
+}
@@ -0,0 +1,83 @@
+package org.example.reportservice.geo;
+
+/**
+ * Latitude/longitude rectangle in degrees. Does not wrap the antimeridian:
+ * minLon must be &lt;= maxLon.
+ */
+public final class BoundingBox {
+    private static final double METERS_PER_DEGREE_LAT = 111_320.0;
+
+    private final double minLat;
+    private final double minLon;
+    private final double maxLat;
+    private final double maxLon;
+
+    public BoundingBox(double minLat, double minLon, double maxLat, double maxLon) {
+        if (minLat > maxLat || minLon > maxLon) {
+            throw new IllegalArgumentException("Bounding box min corner must not exceed max corner");
+        }
+        if (minLat < -90 || maxLat > 90 || minLon < -180 || maxLon > 180) {
+            throw new IllegalArgumentException("Bounding box is outside of valid coordinates");
+        }
+        this.minLat = minLat;
+        this.minLon = minLon;
+        this.maxLat = maxLat;
+        this.maxLon = maxLon;
+    }
+
+    /**
+     * Parses "minLon,minLat,maxLon,maxLat" (GeoJSON / OSM order).
+     */
+    public static BoundingBox parse(String bbox) {
+        if (bbox == null) {
+            throw new IllegalArgumentException("bbox is required");
+        }
+        String[] parts = bbox.split(",");
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("bbox must be minLon,minLat,maxLon,maxLat");
+        }
+        try {
+            return new BoundingBox(
+                    Double.parseDouble(parts[1].trim()),
+                    Double.parseDouble(parts[0].trim()),
+                    Double.parseDouble(parts[3].trim()),
+                    Double.parseDouble(parts[2].trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("bbox must contain four numbers", e);
+        }
+    }
+
+    /**
+     * Smallest box containing the circle around (lat, lon), clamped to valid coordinates.
+     */
+    public static BoundingBox around(double lat, double lon, double radiusMeters) {
+        double dLat = radiusMeters / METERS_PER_DEGREE_LAT;
+        double cosLat = Math.cos(Math.toRadians(lat));
+        double dLon = cosLat > 1e-6 ? radiusMeters / (METERS_PER_DEGREE_LAT * cosLat) : 180.0;
+        return new BoundingBox(
+                Math.max(-90.0, lat - dLat),
+                Math.max(-180.0, lon - dLon),
+                Math.min(90.0, lat + dLat),
+                Math.min(180.0, lon + dLon));
+    }
+
+    public boolean contains(double lat, double lon) {
+        return lat >= minLat && lat <= maxLat && lon >= minLon && lon <= maxLon;
+    }
+
+    public double getMinLat() {
+        return minLat;
+    }
+
+    public double getMinLon() {
+        return minLon;
+    }
+
+    public double getMaxLat() {
+        return maxLat;
+    }
+
+    public double getMaxLon() {
+        return maxLon;
+    }
+}
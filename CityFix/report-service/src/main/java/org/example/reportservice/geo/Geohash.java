@@ -0,0 +1,135 @@
+package org.example.reportservice.geo;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Geohash encoding plus a prefix cover for bounding boxes. Stored hashes are
+ * compared byte-wise (the column uses the "C" collation), so every hash that
+ * starts with a prefix falls in the range [prefix, prefix + {@link #PREFIX_UPPER_BOUND}).
+ */
+public final class Geohash {
+    public static final int STORED_PRECISION = 9;
+    public static final String PREFIX_UPPER_BOUND = "~";
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+    private static final int MAX_COVER_CELLS = 32;
+
+    private Geohash() {
+    }
+
+    public static String encode(double lat, double lon, int precision) {
+        double minLat = -90, maxLat = 90;
+        double minLon = -180, maxLon = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0;
+        int ch = 0;
+
+        while (hash.length() < precision) {
+            if (evenBit) {
+                double mid = (minLon + maxLon) / 2;
+                if (lon >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLon = mid;
+                } else {
+                    ch = ch << 1;
+                    maxLon = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (lat >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLat = mid;
+                } else {
+                    ch = ch << 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+
+            if (++bit == 5) {
+                hash.append(BASE32[ch]);
+                bit = 0;
+                ch = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    public static String encode(double lat, double lon) {
+        return encode(lat, lon, STORED_PRECISION);
+    }
+
+    public static double cellHeight(int precision) {
+        int latBits = (5 * precision) / 2;
+        return 180.0 / (1L << latBits);
+    }
+
+    public static double cellWidth(int precision) {
+        int lonBits = (5 * precision + 1) / 2;
+        return 360.0 / (1L << lonBits);
+    }
+
+    /**
+     * Geohash prefixes at a single precision whose cells together cover the box.
+     * Picks the finest precision that needs at most {@value #MAX_COVER_CELLS} cells.
+     */
+    public static Set<String> cover(BoundingBox box) {
+        for (int precision = STORED_PRECISION; precision > 1; precision--) {
+            if (cellCount(box, precision) <= MAX_COVER_CELLS) {
+                return cover(box, precision);
+            }
+        }
+        return cover(box, 1);
+    }
+
+    static Set<String> cover(BoundingBox box, int precision) {
+        double height = cellHeight(precision);
+        double width = cellWidth(precision);
+        long firstRow = latIndex(box.getMinLat(), height);
+        long lastRow = latIndex(box.getMaxLat(), height);
+        long firstCol = lonIndex(box.getMinLon(), width);
+        long lastCol = lonIndex(box.getMaxLon(), width);
+
+        Set<String> cells = new TreeSet<>();
+        for (long row = firstRow; row <= lastRow; row++) {
+            double lat = -90 + (row + 0.5) * height;
+            for (long col = firstCol; col <= lastCol; col++) {
+                double lon = -180 + (col + 0.5) * width;
+                cells.add(encode(lat, lon, precision));
+            }
+        }
+        return cells;
+    }
+
+    private static long cellCount(BoundingBox box, int precision) {
+        double height = cellHeight(precision);
+        double width = cellWidth(precision);
+        long rows = latIndex(box.getMaxLat(), height) - latIndex(box.getMinLat(), height) + 1;
+        long cols = lonIndex(box.getMaxLon(), width) - lonIndex(box.getMinLon(), width) + 1;
+        return rows * cols;
+    }
+
+    private static long latIndex(double lat, double height) {
+        long rows = Math.round(180.0 / height);
+        return Math.min(rows - 1, (long) Math.floor((lat + 90) / height));
+    }
+
+    private static long lonIndex(double lon, double width) {
+        long cols = Math.round(360.0 / width);
+        return Math.min(cols - 1, (long) Math.floor((lon + 180) / width));
+    }
+
+    /**
+     * Great-circle distance in meters (haversine).
+     */
+    public static double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * 6_371_008.8 * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.reportservice.geo;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.reportservice.entity.Report;
+import org.example.reportservice.repository.ReportRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Fills reports.geohash for rows created before the column existed. New and
+ * updated rows get their geohash from the Report entity callbacks.
+ */
+@Slf4j
+@Component
+public class GeohashBackfill {
+    private static final int BATCH_SIZE = 500;
+
+    private final ReportRepository reportRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public GeohashBackfill(ReportRepository reportRepository, PlatformTransactionManager transactionManager) {
+        this.reportRepository = reportRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        long total = 0;
+        int updated;
+        do {
+            updated = transactionTemplate.execute(status -> backfillBatch());
+            total += updated;
+        } while (updated == BATCH_SIZE);
+
+        if (total > 0) {
+            log.info("Backfilled geohash for {} reports", total);
+        }
+    }
+
+    private int backfillBatch() {
+        List<Report> reports = reportRepository.findWithoutGeohash(PageRequest.of(0, BATCH_SIZE)).getContent();
+        for (Report report : reports) {
+            reportRepository.updateGeohash(report.getId(),
+                    Geohash.encode(report.getLatitude(), report.getLongitude()));
+        }
+        return reports.size();
+    }
+}
@@ -2,32 +2,40 @@ package org.example.reportservice.messaging;
 
 import lombok.extern.slf4j.Slf4j;
 import org.example.reportservice.event.AuditEvent;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Slf4j
 @Component
 public class AuditEventPublisher {
-    private final RabbitTemplate rabbitTemplate;
+    private final OutboxWriter outboxWriter;
 
     @Value("${rabbitmq.exchange.audit:cityfix.audit}")
     private String auditExchange;
 
     @Autowired
-    public AuditEventPublisher(RabbitTemplate rabbitTemplate) {
-        this.rabbitTemplate = rabbitTemplate;
+    public AuditEventPublisher(OutboxWriter outboxWriter) {
+        this.outboxWriter = outboxWriter;
     }
 
+    /**
+     * Queues the audit event in the outbox as part of the caller's transaction.
+     */
     public void publishAudit(String action, AuditEvent event) {
-        try {
-            String routingKey = "audit." + action;
-            log.info("Publishing AuditEvent: {} for report {}", action, event.getEntityId());
-            rabbitTemplate.convertAndSend(auditExchange, routingKey, event);
-        } catch (Exception e) {
-            log.error("Failed to publish AuditEvent: {}", e.getMessage(), e);
-        }
+        String routingKey = "audit." + action;
+        log.info("Queueing AuditEvent: {} for report {}", action, event.getEntityId());
+        outboxWriter.enqueue(auditExchange, routingKey, event);
+    }
+
+    /**
+     * Queues several audit events of the same action with one outbox insert batch.
+     */
+    public void publishAudits(String action, List<AuditEvent> events) {
+        log.info("Queueing {} AuditEvent(s): {}", events.size(), action);
+        outboxWriter.enqueueAll(auditExchange, "audit." + action, events);
     }
 }
 
@@ -0,0 +1,261 @@
+package org.example.reportservice.messaging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.example.reportservice.entity.OutboxEvent;
+import org.example.reportservice.repository.OutboxEventRepository;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Drains report_outbox to RabbitMQ. Each batch is sent with publisher confirms and only
+ * rows the broker acked are deleted, so delivery is at-least-once. The rest are retried
+ * with exponential backoff, which lets later rows overtake a failing one, and parked
+ * after max-attempts so a message the broker never accepts (e.g. an unknown exchange)
+ * cannot hold up the outbox.
+ * <p>
+ * Row locks are only held while a batch is claimed and while the outcome is written;
+ * sending and waiting for confirms happen outside any transaction, under a lease that
+ * keeps other relays off the claimed rows.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+    private final OutboxEventRepository outboxEventRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Counter failedCounter;
+    private final Counter parkedCounter;
+    private final Timer lagTimer;
+    private final AtomicReference<LocalDateTime> oldestPending = new AtomicReference<>();
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong parked = new AtomicLong();
+
+    @Value("${outbox.relay.batch-size:100}")
+    private int batchSize = 100;
+
+    @Value("${outbox.relay.confirm-timeout-ms:5000}")
+    private long confirmTimeoutMs = 5000;
+
+    /** Claimed rows are hidden from other relays this long; must exceed confirm-timeout-ms. */
+    @Value("${outbox.relay.lease-ms:60000}")
+    private long leaseMs = 60000;
+
+    @Value("${outbox.relay.max-attempts:20}")
+    private int maxAttempts = 20;
+
+    /** Delay after the first failure, doubled after each further one up to max-retry-backoff-ms. */
+    @Value("${outbox.relay.retry-backoff-ms:1000}")
+    private long retryBackoffMs = 1000;
+
+    @Value("${outbox.relay.max-retry-backoff-ms:600000}")
+    private long maxRetryBackoffMs = 600000;
+
+    @Autowired
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       RabbitTemplate rabbitTemplate,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.failedCounter = Counter.builder("outbox.relay.failed")
+                .description("Outbox messages nacked, timed out or rejected by the broker")
+                .register(meterRegistry);
+        this.parkedCounter = Counter.builder("outbox.relay.parked")
+                .description("Outbox messages given up on after max-attempts failures")
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("outbox.relay.lag")
+                .description("Time from outbox insert to broker confirm")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        TimeGauge.builder("outbox.relay.oldest.age", this, TimeUnit.MILLISECONDS, OutboxRelay::oldestPendingAgeMillis)
+                .description("Age of the oldest message still waiting in the outbox")
+                .register(meterRegistry);
+        meterRegistry.gauge("outbox.relay.pending", pending);
+        meterRegistry.gauge("outbox.relay.parked.current", parked);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:200}")
+    public void relay() {
+        int published;
+        do {
+            published = relayBatch();
+        } while (published == batchSize);
+
+        refreshBacklog();
+    }
+
+    /**
+     * Claims a batch, sends it and records the outcome, each database step in its own
+     * short transaction.
+     *
+     * @return number of messages confirmed by the broker
+     */
+    int relayBatch() {
+        List<OutboxEvent> batch = transactionTemplate.execute(status -> claim(LocalDateTime.now()));
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        List<CorrelationData> confirms = new ArrayList<>(batch.size());
+        List<Long> failed = new ArrayList<>();
+        String error = null;
+        for (OutboxEvent event : batch) {
+            CorrelationData correlation = new CorrelationData(String.valueOf(event.getId()));
+            try {
+                rabbitTemplate.send(event.getExchange(), event.getRoutingKey(), toMessage(event), correlation);
+                confirms.add(correlation);
+            } catch (Exception e) {
+                failed.add(event.getId());
+                error = e.getMessage();
+            }
+        }
+
+        Set<Long> acked = new HashSet<>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(confirmTimeoutMs);
+        for (CorrelationData correlation : confirms) {
+            Long id = Long.valueOf(correlation.getId());
+            try {
+                CorrelationData.Confirm confirm = correlation.getFuture()
+                        .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (confirm.isAck()) {
+                    acked.add(id);
+                } else {
+                    failed.add(id);
+                    error = "Nacked: " + confirm.getReason();
+                }
+            } catch (TimeoutException e) {
+                failed.add(id);
+                error = "No publisher confirm within " + confirmTimeoutMs + " ms";
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failed.add(id);
+                error = "Interrupted while waiting for confirm";
+            } catch (Exception e) {
+                failed.add(id);
+                error = e.getMessage();
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, OutboxEvent> byId = batch.stream()
+                .collect(Collectors.toMap(OutboxEvent::getId, Function.identity()));
+        // Rows with the same number of earlier attempts share the retry time, so one UPDATE each
+        Map<Integer, List<Long>> failedByAttempts = failed.stream()
+                .collect(Collectors.groupingBy(id -> byId.get(id).getAttempts(), TreeMap::new, Collectors.toList()));
+        String lastError = truncate(error);
+        int parkedNow = failedByAttempts.entrySet().stream()
+                .filter(entry -> entry.getKey() + 1 >= maxAttempts)
+                .mapToInt(entry -> entry.getValue().size())
+                .sum();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!acked.isEmpty()) {
+                outboxEventRepository.deleteByIds(acked);
+            }
+            failedByAttempts.forEach((attempts, ids) -> {
+                int made = attempts + 1;
+                boolean park = made >= maxAttempts;
+                outboxEventRepository.markFailed(ids, lastError,
+                        park ? null : now.plus(retryDelay(made)), park ? now : null);
+            });
+        });
+
+        failedCounter.increment(failed.size());
+        if (failed.size() > parkedNow) {
+            log.warn("Failed to relay {} outbox message(s), will retry: {}", failed.size() - parkedNow, error);
+        }
+        if (parkedNow > 0) {
+            parkedCounter.increment(parkedNow);
+            log.error("Parked {} outbox message(s) after {} failed attempts: {}", parkedNow, maxAttempts, error);
+        }
+
+        for (OutboxEvent event : batch) {
+            if (acked.contains(event.getId())) {
+                meterRegistry.counter("outbox.relay.published", "exchange", event.getExchange()).increment();
+                if (event.getCreatedAt() != null) {
+                    lagTimer.record(Duration.between(event.getCreatedAt(), now));
+                }
+            }
+        }
+        log.debug("Relayed {} of {} outbox message(s)", acked.size(), batch.size());
+        return acked.size();
+    }
+
+    private List<OutboxEvent> claim(LocalDateTime now) {
+        List<OutboxEvent> batch = outboxEventRepository.lockNextBatch(now, batchSize);
+        if (!batch.isEmpty()) {
+            outboxEventRepository.lease(batch.stream().map(OutboxEvent::getId).toList(),
+                    now.plus(Duration.ofMillis(leaseMs)));
+        }
+        return batch;
+    }
+
+    private Duration retryDelay(int attempts) {
+        long delay = retryBackoffMs << Math.min(attempts - 1, 20);
+        return Duration.ofMillis(Math.min(delay, maxRetryBackoffMs));
+    }
+
+    private void refreshBacklog() {
+        LocalDateTime oldest = outboxEventRepository.findFirstByParkedAtIsNullOrderByIdAsc()
+                .map(OutboxEvent::getCreatedAt)
+                .orElse(null);
+        oldestPending.set(oldest);
+        pending.set(oldest != null ? outboxEventRepository.countByParkedAtIsNull() : 0);
+        parked.set(outboxEventRepository.countByParkedAtIsNotNull());
+    }
+
+    private double oldestPendingAgeMillis() {
+        LocalDateTime oldest = oldestPending.get();
+        return oldest != null ? Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis()) : 0;
+    }
+
+    private static Message toMessage(OutboxEvent event) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setContentEncoding(StandardCharsets.UTF_8.name());
+        properties.setMessageId("report-outbox-" + event.getId());
+        if (event.getTypeId() != null) {
+            properties.setHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME, event.getTypeId());
+        }
+        return new Message(event.getPayload().getBytes(StandardCharsets.UTF_8), properties);
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() > 500 ? error.substring(0, 500) : error;
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.reportservice.messaging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.reportservice.entity.OutboxEvent;
+import org.example.reportservice.repository.OutboxEventRepository;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stores outgoing messages in report_outbox as part of the caller's transaction.
+ * Payloads go through the same MessageConverter as direct sends, so consumers see
+ * identical bodies and __TypeId__ headers. {@link OutboxRelay} delivers them.
+ */
+@Slf4j
+@Component
+public class OutboxWriter {
+    private static final String INSERT_SQL =
+            "INSERT INTO report_outbox (exchange, routing_key, type_id, payload) VALUES (?, ?, ?, ?)";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final MessageConverter messageConverter;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public OutboxWriter(OutboxEventRepository outboxEventRepository, MessageConverter messageConverter,
+                        JdbcTemplate jdbcTemplate) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.messageConverter = messageConverter;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String exchange, String routingKey, Object event) {
+        Message message = messageConverter.toMessage(event, new MessageProperties());
+        Object typeId = message.getMessageProperties().getHeaders().get(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME);
+
+        OutboxEvent saved = outboxEventRepository.save(OutboxEvent.builder()
+                .exchange(exchange)
+                .routingKey(routingKey)
+                .typeId(typeId != null ? typeId.toString() : null)
+                .payload(new String(message.getBody(), StandardCharsets.UTF_8))
+                .build());
+        log.debug("Queued {} for {}/{} as outbox ID: {}", event.getClass().getSimpleName(),
+                exchange, routingKey, saved.getId());
+    }
+
+    /**
+     * Same as {@link #enqueue} for many events, written with one JDBC batch.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueAll(String exchange, String routingKey, List<?> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(events.size());
+        for (Object event : events) {
+            Message message = messageConverter.toMessage(event, new MessageProperties());
+            Object typeId = message.getMessageProperties().getHeaders().get(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME);
+            rows.add(new Object[]{exchange, routingKey, typeId != null ? typeId.toString() : null,
+                    new String(message.getBody(), StandardCharsets.UTF_8)});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        log.debug("Queued {} message(s) for {}/{}", events.size(), exchange, routingKey);
+    }
+}
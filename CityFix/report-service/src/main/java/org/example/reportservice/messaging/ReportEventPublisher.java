@@ -2,15 +2,19 @@ package org.example.reportservice.messaging;
 
 import lombok.extern.slf4j.Slf4j;
 import org.example.reportservice.event.ReportCreatedEvent;
+import org.example.reportservice.event.ReportInvalidatedEvent;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Slf4j
 @Component
 public class ReportEventPublisher {
     private final RabbitTemplate rabbitTemplate;
+    private final OutboxWriter outboxWriter;
 
     @Value("${rabbitmq.exchange.reports:cityfix.reports}")
     private String reportsExchange;
@@ -18,20 +22,46 @@ public class ReportEventPublisher {
     @Value("${rabbitmq.routing-key.report-created:report.created}")
     private String reportCreatedRoutingKey;
 
+    @Value("${rabbitmq.routing-key.report-invalidated:report.invalidated}")
+    private String reportInvalidatedRoutingKey;
+
+    @Value("${reports.cache.broadcast-invalidation:false}")
+    private boolean broadcastInvalidation;
+
     @Autowired
-    public ReportEventPublisher(RabbitTemplate rabbitTemplate) {
+    public ReportEventPublisher(RabbitTemplate rabbitTemplate, OutboxWriter outboxWriter) {
         this.rabbitTemplate = rabbitTemplate;
+        this.outboxWriter = outboxWriter;
     }
 
+    /**
+     * Queues the event in the outbox; it is sent by {@link OutboxRelay} after the
+     * surrounding transaction commits. Must be called inside a transaction.
+     */
     public void publishReportCreated(ReportCreatedEvent event) {
+        log.info("Queueing ReportCreatedEvent for report ID: {}", event.getReportId());
+        outboxWriter.enqueue(reportsExchange, reportCreatedRoutingKey, event);
+    }
+
+    /**
+     * Batch variant of {@link #publishReportCreated}: one outbox insert batch.
+     */
+    public void publishReportsCreated(List<ReportCreatedEvent> events) {
+        log.info("Queueing {} ReportCreatedEvent(s)", events.size());
+        outboxWriter.enqueueAll(reportsExchange, reportCreatedRoutingKey, events);
+    }
+
+    public void publishReportInvalidated(Long reportId) {
+        if (!broadcastInvalidation) {
+            return;
+        }
         try {
-            log.info("Publishing ReportCreatedEvent for report ID: {}", event.getReportId());
-            rabbitTemplate.convertAndSend(reportsExchange, reportCreatedRoutingKey, event);
-            log.info("Successfully published ReportCreatedEvent for report ID: {}", event.getReportId());
+            rabbitTemplate.convertAndSend(reportsExchange, reportInvalidatedRoutingKey,
+                    ReportInvalidatedEvent.builder().reportId(reportId).build());
+            log.debug("Published cache invalidation for report ID: {}", reportId);
         } catch (Exception e) {
-            log.error("Failed to publish ReportCreatedEvent for report ID: {}", event.getReportId(), e);
-            throw new RuntimeException("Failed to publish event", e);
+            // Other instances fall back to the cache TTL
+            log.error("Failed to publish cache invalidation for report ID: {}", reportId, e);
         }
     }
 }
-
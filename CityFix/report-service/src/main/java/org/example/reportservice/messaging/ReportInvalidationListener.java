@@ -0,0 +1,27 @@
+package org.example.reportservice.messaging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.reportservice.cache.ReportCache;
+import org.example.reportservice.event.ReportInvalidatedEvent;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "reports.cache.broadcast-invalidation", havingValue = "true")
+public class ReportInvalidationListener {
+    private final ReportCache reportCache;
+
+    @Autowired
+    public ReportInvalidationListener(ReportCache reportCache) {
+        this.reportCache = reportCache;
+    }
+
+    @RabbitListener(queues = "#{reportInvalidationQueue.name}")
+    public void handleReportInvalidated(ReportInvalidatedEvent event) {
+        log.debug("Received cache invalidation for report ID: {}", event.getReportId());
+        reportCache.invalidateLocal(event.getReportId());
+    }
+}
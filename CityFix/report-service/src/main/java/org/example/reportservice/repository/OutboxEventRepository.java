@@ -0,0 +1,56 @@
+package org.example.reportservice.repository;
+
+import org.example.reportservice.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Oldest events that are due and not parked, row-locked for the current transaction.
+     * SKIP LOCKED lets several report-service instances claim batches concurrently; the
+     * caller then leases the rows with {@link #lease} so they stay claimed after commit.
+     */
+    @Query(value = "SELECT * FROM report_outbox " +
+            "WHERE parked_at IS NULL AND (next_attempt_at IS NULL OR next_attempt_at <= :now) " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Hides the events from other relays until {@code until}; if this relay dies before
+     * finishing them they become due again then.
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.nextAttemptAt = :until WHERE e.id IN :ids")
+    int lease(@Param("ids") Collection<Long> ids, @Param("until") LocalDateTime until);
+
+    Optional<OutboxEvent> findFirstByParkedAtIsNullOrderByIdAsc();
+
+    long countByParkedAtIsNull();
+
+    long countByParkedAtIsNotNull();
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Records a failed attempt: the events are retried at {@code nextAttemptAt}, or never
+     * again when {@code parkedAt} is set.
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.lastError = :error, " +
+            "e.nextAttemptAt = :nextAttemptAt, e.parkedAt = :parkedAt WHERE e.id IN :ids")
+    int markFailed(@Param("ids") Collection<Long> ids, @Param("error") String error,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("parkedAt") LocalDateTime parkedAt);
+}
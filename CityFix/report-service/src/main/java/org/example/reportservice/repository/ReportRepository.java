@@ -1,16 +1,65 @@
 package org.example.reportservice.repository;
 
+import jakarta.persistence.QueryHint;
 import org.example.reportservice.entity.Report;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface ReportRepository extends JpaRepository<Report, Long> {
-    List<Report> findByUserId(Long userId);
-    List<Report> findByStatus(String status);
-    List<Report> findByCategory(String category);
-    List<Report> findByPriority(String priority);
-}
+public interface ReportRepository extends JpaRepository<Report, Long>, ReportRepositoryCustom {
+    Slice<Report> findByUserId(Long userId, Pageable pageable);
+    Slice<Report> findByStatus(String status, Pageable pageable);
+    Slice<Report> findByCategory(String category, Pageable pageable);
+    Slice<Report> findByPriority(String priority, Pageable pageable);
+
+    /**
+     * Forward-only scan of every report for bulk export. Must be consumed inside a
+     * read-only transaction so the PostgreSQL driver uses a server-side cursor and
+     * fetches 500 rows per round trip.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r FROM Report r ORDER BY r.id")
+    Stream<Report> streamAllForExport();
+
+    /**
+     * Report counts per status, category, priority and creation day in a single scan.
+     * Columns: GROUPING(status, category, priority, day) bitmask (1 = not grouped by),
+     * status, category, priority, day, count. The priority rows also add up to the total.
+     */
+    @Query(value = "SELECT GROUPING(status, category, priority, CAST(created_at AS date)) AS grp, " +
+            "status, category, priority, CAST(created_at AS date) AS day, COUNT(*) AS cnt " +
+            "FROM reports " +
+            "GROUP BY GROUPING SETS ((status), (category), (priority), (CAST(created_at AS date)))",
+            nativeQuery = true)
+    List<Object[]> countByDimensions();
 
+    /**
+     * Read-only lookup for batch operations: the entities are not dirty-checked, so
+     * changes are written with plain JDBC instead.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT r FROM Report r WHERE r.id IN :ids")
+    List<Report> findAllByIdReadOnly(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT r FROM Report r " +
+            "WHERE r.geohash IS NULL AND r.latitude IS NOT NULL AND r.longitude IS NOT NULL")
+    Slice<Report> findWithoutGeohash(Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Report r SET r.geohash = :geohash WHERE r.id = :id")
+    int updateGeohash(@Param("id") Long id, @Param("geohash") String geohash);
+}
@@ -0,0 +1,88 @@
+package org.example.reportservice.repository;
+
+import org.example.reportservice.dto.ReportMarker;
+import org.example.reportservice.entity.Report;
+import org.example.reportservice.geo.BoundingBox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+public interface ReportRepositoryCustom {
+    /**
+     * Keyset page over (created_at, id), newest first. Only non-null filters become
+     * predicates, so each combination can use its (filter, created_at, id) index; a null
+     * cursor starts from the newest report.
+     */
+    Slice<Report> findPage(String status, String category, String priority, Long userId,
+                           LocalDateTime cursorCreatedAt, Long cursorId, Pageable pageable);
+
+    /**
+     * Reports whose geohash starts with one of the given cells and whose coordinates
+     * fall inside the box, newest first (created_at, then id), so the limit always keeps
+     * the same rows. Each cell becomes an index range scan on reports.geohash.
+     */
+    List<Report> findInGeohashCells(Collection<String> cells, BoundingBox box, int limit);
+
+    /**
+     * Same as {@link #findInGeohashCells(Collection, BoundingBox, int)}, restricted to
+     * reports created at or after {@code createdAfter} (null = no restriction).
+     */
+    List<Report> findInGeohashCells(Collection<String> cells, BoundingBox box, LocalDateTime createdAfter, int limit);
+
+    /**
+     * Rows in the geohash cells and box, nearest to (lat, lon) first, so the limit keeps
+     * the closest reports rather than an arbitrary subset of a dense area.
+     */
+    List<Report> findNearestInGeohashCells(Collection<String> cells, BoundingBox box,
+                                           double lat, double lon, int limit);
+
+    /**
+     * Full-text match of a tsquery (PostgreSQL syntax, 'simple' configuration) against
+     * title and description, best ranked first. Only the newest {@code candidates}
+     * matches are ranked, so a broad query costs the same as a narrow one; older matches
+     * beyond that are not returned. The candidate set is fixed by created_at and id, so
+     * pages are stable across calls.
+     */
+    List<Report> search(String tsQuery, int candidates, int offset, int limit);
+
+    /**
+     * Same lookup as {@link #findInGeohashCells(Collection, BoundingBox, int)}, selecting
+     * only the map marker columns, in the same order.
+     */
+    List<ReportMarker> findMarkersInGeohashCells(Collection<String> cells, BoundingBox box, int limit);
+
+    /**
+     * Inserts all reports with one JDBC batch, bypassing the persistence context. Fills
+     * in id, geohash, simhash and timestamps on the given objects.
+     */
+    List<Report> insertBatch(List<Report> reports);
+
+    /**
+     * Sets the status of each report with one JDBC batch, but only where the row still
+     * has the report's version; updated rows get version + 1 (also set on the objects).
+     *
+     * @return ids of the reports that were updated
+     */
+    Set<Long> updateStatusBatch(List<Report> reports, LocalDateTime updatedAt);
+
+    /**
+     * Writes all columns of the report with one UPDATE, provided the row still has the
+     * report's version. On success the version is incremented and updatedAt set on the
+     * given object.
+     *
+     * @return false if the row was changed or deleted in the meantime
+     */
+    boolean updateIfVersion(Report report);
+
+    /**
+     * Current database state of the report, read with a single SELECT that bypasses the
+     * persistence context. Unlike findById it never returns an entity loaded earlier in
+     * the same transaction; the result is detached.
+     */
+    Optional<Report> findCurrentById(Long id);
+}
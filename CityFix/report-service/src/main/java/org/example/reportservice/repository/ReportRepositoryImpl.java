@@ -0,0 +1,354 @@
+package org.example.reportservice.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.example.reportservice.dedup.SimHash;
+import org.example.reportservice.dto.ReportMarker;
+import org.example.reportservice.entity.Report;
+import org.example.reportservice.geo.BoundingBox;
+import org.example.reportservice.geo.Geohash;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+class ReportRepositoryImpl implements ReportRepositoryCustom {
+    private static final String SEARCH_SQL =
+            "SELECT r.id, r.user_id, r.title, r.description, r.status, r.category, r.priority, " +
+            "r.latitude, r.longitude, r.geohash, r.simhash, r.version, r.created_at, r.updated_at " +
+            "FROM (SELECT * FROM reports WHERE search_vector @@ to_tsquery('simple', :query) " +
+            "      ORDER BY created_at DESC, id DESC LIMIT :candidates) r, " +
+            "     to_tsquery('simple', :query) AS q(query) " +
+            "ORDER BY ts_rank_cd(r.search_vector, q.query) DESC, r.id DESC " +
+            "OFFSET :offset LIMIT :limit";
+
+    private static final String FIND_BY_ID_SQL =
+            "SELECT id, user_id, title, description, status, category, priority, " +
+            "latitude, longitude, geohash, simhash, version, created_at, updated_at " +
+            "FROM reports WHERE id = ?";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO reports (user_id, title, description, status, category, priority, " +
+            "latitude, longitude, geohash, simhash, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_STATUS_SQL =
+            "UPDATE reports SET status = ?, updated_at = ?, version = version + 1 WHERE id = ? AND version = ?";
+
+    private static final String UPDATE_IF_VERSION_SQL =
+            "UPDATE reports SET title = ?, description = ?, status = ?, category = ?, priority = ?, " +
+            "latitude = ?, longitude = ?, geohash = ?, simhash = ?, updated_at = ?, version = version + 1 " +
+            "WHERE id = ? AND version = ?";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    ReportRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Slice<Report> findPage(String status, String category, String priority, Long userId,
+                                  LocalDateTime cursorCreatedAt, Long cursorId, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Report> query = cb.createQuery(Report.class);
+        Root<Report> report = query.from(Report.class);
+        Path<LocalDateTime> createdAt = report.get("createdAt");
+        Path<Long> id = report.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (status != null) {
+            predicates.add(cb.equal(report.get("status"), status));
+        }
+        if (category != null) {
+            predicates.add(cb.equal(report.get("category"), category));
+        }
+        if (priority != null) {
+            predicates.add(cb.equal(report.get("priority"), priority));
+        }
+        if (userId != null) {
+            predicates.add(cb.equal(report.get("userId"), userId));
+        }
+        if (cursorCreatedAt != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(createdAt, cursorCreatedAt),
+                    cb.and(cb.equal(createdAt, cursorCreatedAt), cb.lessThan(id, cursorId))));
+        }
+
+        query.select(report)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.desc(createdAt), cb.desc(id));
+
+        // One extra row tells whether there is a next page
+        int pageSize = pageable.getPageSize();
+        List<Report> rows = entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setMaxResults(pageSize + 1)
+                .getResultList();
+        boolean hasNext = rows.size() > pageSize;
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageSize) : rows, pageable, hasNext);
+    }
+
+    @Override
+    public List<Report> findInGeohashCells(Collection<String> cells, BoundingBox box, int limit) {
+        return findInGeohashCells(cells, box, null, limit);
+    }
+
+    @Override
+    public List<Report> findInGeohashCells(Collection<String> cells, BoundingBox box,
+                                           LocalDateTime createdAfter, int limit) {
+        if (cells.isEmpty()) {
+            return List.of();
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Report> query = cb.createQuery(Report.class);
+        Root<Report> report = query.from(Report.class);
+        query.select(report)
+                .where(inCells(cb, report, cells, box, createdAfter))
+                .orderBy(cb.desc(report.get("createdAt")), cb.desc(report.get("id")));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<Report> findNearestInGeohashCells(Collection<String> cells, BoundingBox box,
+                                                  double lat, double lon, int limit) {
+        if (cells.isEmpty()) {
+            return List.of();
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Report> query = cb.createQuery(Report.class);
+        Root<Report> report = query.from(Report.class);
+        // Squared equirectangular distance: plain arithmetic, and within the radius limit it
+        // ranks rows like the haversine distance the caller filters on
+        Expression<Double> dLat = cb.diff(report.<Double>get("latitude"), lat);
+        Expression<Double> dLon = cb.prod(cb.diff(report.<Double>get("longitude"), lon),
+                Math.cos(Math.toRadians(lat)));
+        query.select(report)
+                .where(inCells(cb, report, cells, box, null))
+                .orderBy(cb.asc(cb.sum(cb.prod(dLat, dLat), cb.prod(dLon, dLon))), cb.asc(report.get("id")));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<ReportMarker> findMarkersInGeohashCells(Collection<String> cells, BoundingBox box, int limit) {
+        if (cells.isEmpty()) {
+            return List.of();
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ReportMarker> query = cb.createQuery(ReportMarker.class);
+        Root<Report> report = query.from(Report.class);
+        query.select(cb.construct(ReportMarker.class,
+                        report.get("id"),
+                        report.get("latitude"),
+                        report.get("longitude"),
+                        report.get("status"),
+                        report.get("category")))
+                .where(inCells(cb, report, cells, box, null))
+                .orderBy(cb.desc(report.get("createdAt")), cb.desc(report.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private static Predicate[] inCells(CriteriaBuilder cb, Root<Report> report, Collection<String> cells,
+                                       BoundingBox box, LocalDateTime createdAfter) {
+        Path<String> geohash = report.get("geohash");
+        Predicate[] cellRanges = cells.stream()
+                .map(cell -> cb.and(
+                        cb.greaterThanOrEqualTo(geohash, cell),
+                        cb.lessThan(geohash, cell + Geohash.PREFIX_UPPER_BOUND)))
+                .toArray(Predicate[]::new);
+
+        List<Predicate> where = new ArrayList<>(List.of(
+                cb.or(cellRanges),
+                cb.between(report.<Double>get("latitude"), box.getMinLat(), box.getMaxLat()),
+                cb.between(report.<Double>get("longitude"), box.getMinLon(), box.getMaxLon())));
+        if (createdAfter != null) {
+            where.add(cb.greaterThanOrEqualTo(report.get("createdAt"), createdAfter));
+        }
+        return where.toArray(Predicate[]::new);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Report> search(String tsQuery, int candidates, int offset, int limit) {
+        return entityManager.createNativeQuery(SEARCH_SQL, Report.class)
+                .setParameter("query", tsQuery)
+                .setParameter("candidates", candidates)
+                .setParameter("offset", offset)
+                .setParameter("limit", limit)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultList();
+    }
+
+    @Override
+    public List<Report> insertBatch(List<Report> reports) {
+        if (reports.isEmpty()) {
+            return reports;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (Report report : reports) {
+            setDerivedColumns(report);
+            report.setCreatedAt(now);
+            report.setUpdatedAt(now);
+            report.setVersion(0L);
+        }
+
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Report report = reports.get(i);
+                        ps.setLong(1, report.getUserId());
+                        ps.setString(2, report.getTitle());
+                        ps.setString(3, report.getDescription());
+                        ps.setString(4, report.getStatus());
+                        ps.setString(5, report.getCategory());
+                        ps.setString(6, report.getPriority());
+                        ps.setObject(7, report.getLatitude(), Types.DOUBLE);
+                        ps.setObject(8, report.getLongitude(), Types.DOUBLE);
+                        ps.setString(9, report.getGeohash());
+                        ps.setObject(10, report.getSimhash(), Types.BIGINT);
+                        ps.setTimestamp(11, Timestamp.valueOf(report.getCreatedAt()));
+                        ps.setTimestamp(12, Timestamp.valueOf(report.getUpdatedAt()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return reports.size();
+                    }
+                }, keys);
+
+        List<Map<String, Object>> ids = keys.getKeyList();
+        for (int i = 0; i < reports.size(); i++) {
+            reports.get(i).setId(((Number) ids.get(i).get("id")).longValue());
+        }
+        return reports;
+    }
+
+    @Override
+    public Set<Long> updateStatusBatch(List<Report> reports, LocalDateTime updatedAt) {
+        if (reports.isEmpty()) {
+            return Set.of();
+        }
+        List<Object[]> rows = reports.stream()
+                .map(report -> new Object[]{report.getStatus(), Timestamp.valueOf(updatedAt),
+                        report.getId(), report.getVersion()})
+                .toList();
+        int[] counts = jdbcTemplate.batchUpdate(UPDATE_STATUS_SQL, rows);
+
+        Set<Long> updated = new HashSet<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                Report report = reports.get(i);
+                report.setVersion(report.getVersion() + 1);
+                report.setUpdatedAt(updatedAt);
+                updated.add(report.getId());
+            }
+        }
+        return updated;
+    }
+
+    @Override
+    public boolean updateIfVersion(Report report) {
+        setDerivedColumns(report);
+        LocalDateTime now = LocalDateTime.now();
+        int updated = jdbcTemplate.update(UPDATE_IF_VERSION_SQL,
+                report.getTitle(),
+                report.getDescription(),
+                report.getStatus(),
+                report.getCategory(),
+                report.getPriority(),
+                report.getLatitude(),
+                report.getLongitude(),
+                report.getGeohash(),
+                report.getSimhash(),
+                Timestamp.valueOf(now),
+                report.getId(),
+                report.getVersion());
+        if (updated == 0) {
+            return false;
+        }
+        report.setVersion(report.getVersion() + 1);
+        report.setUpdatedAt(now);
+        return true;
+    }
+
+    @Override
+    public Optional<Report> findCurrentById(Long id) {
+        // Plain JDBC: exactly one SELECT, whether or not the persistence context holds the entity
+        return jdbcTemplate.query(FIND_BY_ID_SQL, ReportRepositoryImpl::mapRow, id).stream().findFirst();
+    }
+
+    private static Report mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return Report.builder()
+                .id(rs.getLong("id"))
+                .userId(rs.getLong("user_id"))
+                .title(rs.getString("title"))
+                .description(rs.getString("description"))
+                .status(rs.getString("status"))
+                .category(rs.getString("category"))
+                .priority(rs.getString("priority"))
+                .latitude(rs.getObject("latitude", Double.class))
+                .longitude(rs.getObject("longitude", Double.class))
+                .geohash(rs.getString("geohash"))
+                .simhash(rs.getObject("simhash", Long.class))
+                .version(rs.getLong("version"))
+                .createdAt(toLocalDateTime(rs.getTimestamp("created_at")))
+                .updatedAt(toLocalDateTime(rs.getTimestamp("updated_at")))
+                .build();
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    // The entity callbacks do not run for plain JDBC
+    private static void setDerivedColumns(Report report) {
+        report.setGeohash(report.getLatitude() != null && report.getLongitude() != null
+                ? Geohash.encode(report.getLatitude(), report.getLongitude()) : null);
+        report.setSimhash(SimHash.of(report.getTitle(), report.getDescription()));
+    }
+}
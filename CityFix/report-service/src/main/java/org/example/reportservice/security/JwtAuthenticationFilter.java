@@ -33,15 +33,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = extractJwtFromCookie(request);
 
-            if (jwt != null && jwtTokenProvider.validateToken(jwt)) {
-                Long userId = jwtTokenProvider.getUserIdFromToken(jwt);
-                String username = jwtTokenProvider.getUsernameFromToken(jwt);
+            if (jwt != null) {
+                jwtTokenProvider.verify(jwt).ifPresent(principal -> {
+                    // Add user ID as request attribute
+                    request.setAttribute("userId", principal.getUserId());
+                    request.setAttribute("username", principal.getUsername());
 
-                // Add user ID as request attribute
-                request.setAttribute("userId", userId);
-                request.setAttribute("username", username);
-
-                log.debug("JWT validated for user: {} (ID: {})", username, userId);
+                    log.debug("JWT validated for user: {} (ID: {})", principal.getUsername(), principal.getUserId());
+                });
             }
         } catch (Exception e) {
             log.error("Cannot set user authentication: {}", e.getMessage());
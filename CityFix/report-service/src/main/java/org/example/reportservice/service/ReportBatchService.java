@@ -0,0 +1,255 @@
+package org.example.reportservice.service;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.example.reportservice.cache.ReportCache;
+import org.example.reportservice.cache.SingleFlight;
+import org.example.reportservice.dto.BatchItemResult;
+import org.example.reportservice.dto.BatchResponse;
+import org.example.reportservice.dto.BatchStatusUpdateRequest;
+import org.example.reportservice.dto.CreateReportRequest;
+import org.example.reportservice.entity.Report;
+import org.example.reportservice.event.AuditEvent;
+import org.example.reportservice.event.ReportCreatedEvent;
+import org.example.reportservice.messaging.AuditEventPublisher;
+import org.example.reportservice.messaging.ReportEventPublisher;
+import org.example.reportservice.repository.ReportRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk variants of create and status update for clients that sync many reports at once.
+ * Each call is one transaction: rows, outbox events and audit events are written with
+ * JDBC batches instead of one round trip per report.
+ */
+@Slf4j
+@Service
+public class ReportBatchService {
+    private final ReportRepository reportRepository;
+    private final ReportEventPublisher eventPublisher;
+    private final AuditEventPublisher auditEventPublisher;
+    private final ReportCache reportCache;
+    private final SingleFlight singleFlight;
+    private final ReportStatistics reportStatistics;
+    private final Validator validator;
+
+    @Value("${reports.batch.max-size:500}")
+    private int maxBatchSize = 500;
+
+    @Autowired
+    public ReportBatchService(ReportRepository reportRepository,
+                              ReportEventPublisher eventPublisher,
+                              AuditEventPublisher auditEventPublisher,
+                              ReportCache reportCache,
+                              SingleFlight singleFlight,
+                              ReportStatistics reportStatistics,
+                              Validator validator) {
+        this.reportRepository = reportRepository;
+        this.eventPublisher = eventPublisher;
+        this.auditEventPublisher = auditEventPublisher;
+        this.reportCache = reportCache;
+        this.singleFlight = singleFlight;
+        this.reportStatistics = reportStatistics;
+        this.validator = validator;
+    }
+
+    /**
+     * All or nothing: if any item is invalid nothing is stored and the response lists
+     * the INVALID items (the rest are omitted). Otherwise every item is CREATED.
+     */
+    @Transactional
+    public BatchResponse createReports(List<CreateReportRequest> requests, Long userId) {
+        checkBatchSize(requests);
+        log.info("Creating {} reports in batch for user ID: {}", requests.size(), userId);
+
+        List<BatchItemResult> invalid = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            String error = requests.get(i) == null ? "Report is required" : violations(requests.get(i));
+            if (error != null) {
+                invalid.add(result(i, null, BatchItemResult.Outcome.INVALID, error));
+            }
+        }
+        if (!invalid.isEmpty()) {
+            log.warn("Rejected report batch from user ID: {}: {} invalid item(s)", userId, invalid.size());
+            return BatchResponse.of(invalid);
+        }
+
+        List<Report> reports = requests.stream()
+                .map(request -> Report.builder()
+                        .userId(userId)
+                        .title(request.getTitle())
+                        .description(request.getDescription())
+                        .category(request.getCategory())
+                        .priority(request.getPriority() != null ? request.getPriority() : "MEDIUM")
+                        .status("OPEN")
+                        .latitude(request.getLatitude())
+                        .longitude(request.getLongitude())
+                        .build())
+                .collect(Collectors.toList());
+        reportRepository.insertBatch(reports);
+        ReportService.forgetListFlights(singleFlight);
+        reports.forEach(reportStatistics::recordCreated);
+
+        eventPublisher.publishReportsCreated(reports.stream()
+                .map(report -> ReportCreatedEvent.builder()
+                        .reportId(report.getId())
+                        .userId(report.getUserId())
+                        .title(report.getTitle())
+                        .status(report.getStatus())
+                        .category(report.getCategory())
+                        .priority(report.getPriority())
+                        .createdAt(report.getCreatedAt())
+                        .build())
+                .collect(Collectors.toList()));
+        auditEventPublisher.publishAudits("report.create", reports.stream()
+                .map(report -> audit("report.create", userId, report.getId(), "Report created: " + report.getTitle()))
+                .collect(Collectors.toList()));
+
+        List<BatchItemResult> results = new ArrayList<>(reports.size());
+        for (int i = 0; i < reports.size(); i++) {
+            results.add(result(i, reports.get(i).getId(), BatchItemResult.Outcome.CREATED, null));
+        }
+        log.info("Created {} reports in batch for user ID: {}", reports.size(), userId);
+        return BatchResponse.of(results);
+    }
+
+    /**
+     * Applies every valid update the user may make (own reports only, like a single
+     * update) and reports the others as INVALID, NOT_FOUND or FORBIDDEN. A report changed
+     * by someone else after it was read is left alone and reported as CONFLICT.
+     */
+    @Transactional
+    public BatchResponse updateStatuses(List<BatchStatusUpdateRequest.Item> updates, Long userId) {
+        checkBatchSize(updates);
+        log.info("Updating status of {} reports in batch for user ID: {}", updates.size(), userId);
+
+        BatchItemResult[] results = new BatchItemResult[updates.size()];
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < updates.size(); i++) {
+            BatchStatusUpdateRequest.Item update = updates.get(i);
+            String error = update == null ? "Update is required" : violations(update);
+            if (error == null && !seen.add(update.getId())) {
+                error = "Report " + update.getId() + " appears more than once";
+            }
+            if (error != null) {
+                results[i] = result(i, update != null ? update.getId() : null, BatchItemResult.Outcome.INVALID, error);
+            }
+        }
+
+        Map<Long, Report> existing = seen.isEmpty()
+                ? Map.of()
+                : reportRepository.findAllByIdReadOnly(seen).stream()
+                        .collect(Collectors.toMap(Report::getId, Function.identity()));
+
+        Map<Long, Integer> indexById = new LinkedHashMap<>();
+        List<Report> changes = new ArrayList<>();
+        for (int i = 0; i < updates.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            BatchStatusUpdateRequest.Item update = updates.get(i);
+            Report report = existing.get(update.getId());
+            if (report == null) {
+                results[i] = result(i, update.getId(), BatchItemResult.Outcome.NOT_FOUND, "Report not found");
+            } else if (!report.getUserId().equals(userId)) {
+                log.warn("User {} attempted to update report {} owned by user {}",
+                        userId, report.getId(), report.getUserId());
+                results[i] = result(i, update.getId(), BatchItemResult.Outcome.FORBIDDEN,
+                        "You can only update your own reports");
+            } else if (update.getStatus().equals(report.getStatus())) {
+                results[i] = result(i, update.getId(), BatchItemResult.Outcome.UNCHANGED, null);
+            } else {
+                indexById.put(report.getId(), i);
+                changes.add(Report.builder()
+                        .id(report.getId())
+                        .status(update.getStatus())
+                        .version(report.getVersion())
+                        .build());
+            }
+        }
+
+        Set<Long> updated = changes.isEmpty()
+                ? Set.of()
+                : reportRepository.updateStatusBatch(changes, LocalDateTime.now());
+        List<AuditEvent> audits = new ArrayList<>();
+        for (Report change : changes) {
+            Long id = change.getId();
+            int index = indexById.get(id);
+            if (!updated.contains(id)) {
+                log.warn("Report {} was modified concurrently, batch status update skipped it", id);
+                results[index] = result(index, id, BatchItemResult.Outcome.CONFLICT,
+                        "Report was modified concurrently");
+                continue;
+            }
+            Report report = existing.get(id);
+            ReportStatistics.Dimensions before = ReportStatistics.Dimensions.of(report);
+            reportStatistics.recordUpdated(before, new ReportStatistics.Dimensions(
+                    change.getStatus(), before.category(), before.priority(), before.day()));
+            reportCache.invalidate(id);
+            singleFlight.forget(ReportService.FLIGHT_REPORT, id);
+            audits.add(audit("report.update", userId, id,
+                    "Report status changed: " + report.getStatus() + " -> " + change.getStatus()));
+            results[index] = result(index, id, BatchItemResult.Outcome.UPDATED, null);
+        }
+
+        if (!audits.isEmpty()) {
+            ReportService.forgetListFlights(singleFlight);
+            auditEventPublisher.publishAudits("report.update", audits);
+        }
+
+        log.info("Batch status update for user ID: {}: {} updated, {} conflicts",
+                userId, updated.size(), changes.size() - updated.size());
+        return BatchResponse.of(List.of(results));
+    }
+
+    private void checkBatchSize(List<?> items) {
+        if (items == null || items.isEmpty() || items.size() > maxBatchSize) {
+            throw new IllegalArgumentException("Batch must contain between 1 and " + maxBatchSize + " items");
+        }
+    }
+
+    private String violations(Object item) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(item);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static BatchItemResult result(int index, Long id, BatchItemResult.Outcome outcome, String error) {
+        return BatchItemResult.builder()
+                .index(index)
+                .id(id)
+                .outcome(outcome)
+                .error(error)
+                .build();
+    }
+
+    private static AuditEvent audit(String action, Long userId, Long reportId, String details) {
+        return AuditEvent.builder()
+                .eventType("REPORT")
+                .userId(userId)
+                .entityType("Report")
+                .entityId(reportId)
+                .action(action)
+                .details(details)
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+}
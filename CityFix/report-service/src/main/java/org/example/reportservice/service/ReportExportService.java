@@ -0,0 +1,71 @@
+package org.example.reportservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.example.reportservice.dto.ReportResponse;
+import org.example.reportservice.entity.Report;
+import org.example.reportservice.repository.ReportRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+public class ReportExportService {
+    private static final int FLUSH_EVERY = 500;
+
+    private final ReportRepository reportRepository;
+    private final EntityManager entityManager;
+    private final ObjectWriter responseWriter;
+
+    @Autowired
+    public ReportExportService(ReportRepository reportRepository,
+                               EntityManager entityManager,
+                               ObjectMapper objectMapper) {
+        this.reportRepository = reportRepository;
+        this.entityManager = entityManager;
+        this.responseWriter = objectMapper.writerFor(ReportResponse.class);
+    }
+
+    /**
+     * Writes every report as one JSON object per line. Rows come from a server-side
+     * cursor and are detached as soon as they are written, so heap use does not
+     * grow with the table. The output stream is flushed but not closed.
+     */
+    @Transactional(readOnly = true)
+    public long exportNdjson(OutputStream outputStream) throws IOException {
+        log.info("Starting NDJSON export of reports");
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        long count = 0;
+
+        try (Stream<Report> reports = reportRepository.streamAllForExport()) {
+            Iterator<Report> iterator = reports.iterator();
+            while (iterator.hasNext()) {
+                Report report = iterator.next();
+                writer.write(responseWriter.writeValueAsString(ReportService.mapToResponse(report)));
+                writer.write('\n');
+                entityManager.detach(report);
+
+                // Flush the first row right away so the client sees bytes immediately
+                if (++count == 1 || count % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            }
+        }
+
+        writer.flush();
+        log.info("NDJSON export finished: {} reports", count);
+        return count;
+    }
+}
@@ -1,43 +1,120 @@
 package org.example.reportservice.service;
 
 import lombok.extern.slf4j.Slf4j;
+import org.example.reportservice.cache.ReportCache;
+import org.example.reportservice.cache.SingleFlight;
+import org.example.reportservice.dedup.DuplicateDetector;
+import org.example.reportservice.dto.DuplicateReport;
 import org.example.reportservice.dto.CreateReportRequest;
+import org.example.reportservice.dto.ReportAreaResponse;
+import org.example.reportservice.dto.ReportMarker;
+import org.example.reportservice.dto.ReportMarkersResponse;
+import org.example.reportservice.dto.ReportPageResponse;
 import org.example.reportservice.dto.ReportResponse;
+import org.example.reportservice.dto.ReportSearchResponse;
+import org.example.reportservice.dto.ReportStatsResponse;
 import org.example.reportservice.dto.UpdateReportRequest;
 import org.example.reportservice.entity.Report;
 import org.example.reportservice.event.AuditEvent;
 import org.example.reportservice.event.ReportCreatedEvent;
+import org.example.reportservice.geo.BoundingBox;
+import org.example.reportservice.geo.Geohash;
 import org.example.reportservice.messaging.AuditEventPublisher;
 import org.example.reportservice.messaging.ReportEventPublisher;
 import org.example.reportservice.repository.ReportRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class ReportService {
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int DEFAULT_GEO_LIMIT = 200;
+    static final int MAX_SEARCH_TERMS = 8;
+    static final int MAX_SEARCH_QUERY_LENGTH = 200;
+
+    // Single-flight operations; list results are detached on every write
+    static final String FLIGHT_REPORT = "report";
+    static final String FLIGHT_PAGE = "page";
+    static final String FLIGHT_NEARBY = "nearby";
+    static final String FLIGHT_WITHIN = "within";
+    static final String FLIGHT_MAP = "map";
+    static final String FLIGHT_SEARCH = "search";
+
     private final ReportRepository reportRepository;
     private final ReportEventPublisher eventPublisher;
     private final AuditEventPublisher auditEventPublisher;
+    private final ReportCache reportCache;
+    private final SingleFlight singleFlight;
+    private final ReportStatistics reportStatistics;
+    private final DuplicateDetector duplicateDetector;
+
+    @Value("${reports.page.max-size:100}")
+    private int maxPageSize = 100;
+
+    @Value("${reports.geo.max-results:500}")
+    private int maxGeoResults = 500;
+
+    @Value("${reports.geo.max-markers:5000}")
+    private int maxMarkers = 5000;
+
+    @Value("${reports.geo.max-radius-meters:50000}")
+    private double maxRadiusMeters = 50_000;
+
+    @Value("${reports.search.min-prefix-length:2}")
+    private int minPrefixLength = 2;
+
+    @Value("${reports.search.max-candidates:1000}")
+    private int maxSearchCandidates = 1000;
 
     @Autowired
     public ReportService(ReportRepository reportRepository,
                         ReportEventPublisher eventPublisher,
-                        AuditEventPublisher auditEventPublisher) {
+                        AuditEventPublisher auditEventPublisher,
+                        ReportCache reportCache,
+                        SingleFlight singleFlight,
+                        ReportStatistics reportStatistics,
+                        DuplicateDetector duplicateDetector) {
         this.reportRepository = reportRepository;
         this.eventPublisher = eventPublisher;
         this.auditEventPublisher = auditEventPublisher;
+        this.reportCache = reportCache;
+        this.singleFlight = singleFlight;
+        this.reportStatistics = reportStatistics;
+        this.duplicateDetector = duplicateDetector;
     }
 
     @Transactional
     public ReportResponse createReport(CreateReportRequest request, Long userId) {
+        return createReport(request, userId, false);
+    }
+
+    /**
+     * @param mergeDuplicates when a likely duplicate exists, return it (with
+     *                        {@code merged = true}) instead of creating a new report
+     */
+    @Transactional
+    public ReportResponse createReport(CreateReportRequest request, Long userId, boolean mergeDuplicates) {
         log.info("Creating new report for user ID: {}", userId);
 
+        List<DuplicateDetector.Match> duplicates = duplicateDetector.findDuplicates(request);
+        if (mergeDuplicates && !duplicates.isEmpty()) {
+            return mergeIntoExisting(duplicates, userId);
+        }
+
         Report report = Report.builder()
                 .userId(userId)
                 .title(request.getTitle())
@@ -51,8 +128,10 @@ public class ReportService {
 
         Report savedReport = reportRepository.save(report);
         log.info("Report created with ID: {}", savedReport.getId());
+        forgetListFlights(singleFlight);
+        reportStatistics.recordCreated(savedReport);
 
-        // Publish event to RabbitMQ
+        // Queue event in the outbox (relayed to RabbitMQ after commit)
         ReportCreatedEvent event = ReportCreatedEvent.builder()
                 .reportId(savedReport.getId())
                 .userId(savedReport.getUserId())
@@ -69,18 +148,232 @@ public class ReportService {
         publishAudit("report.create", userId, null, "Report", savedReport.getId(),
                     "Report created: " + savedReport.getTitle());
 
-        return mapToResponse(savedReport);
+        ReportResponse response = mapToResponse(savedReport);
+        if (!duplicates.isEmpty()) {
+            response.setPossibleDuplicates(toDuplicateReports(duplicates));
+        }
+        return response;
     }
 
-    public List<ReportResponse> getAllReports() {
-        log.info("Getting all reports");
-        return reportRepository.findAll().stream()
-                .map(this::mapToResponse)
+    private ReportResponse mergeIntoExisting(List<DuplicateDetector.Match> duplicates, Long userId) {
+        Report existing = duplicates.get(0).report();
+        log.info("Merged new report from user ID: {} into existing report ID: {}", userId, existing.getId());
+
+        // Nothing is stored and no report.created is sent, so reports_count stays as is
+        publishAudit("report.merge", userId, null, "Report", existing.getId(),
+                    "Duplicate report merged into: " + existing.getTitle());
+
+        ReportResponse response = mapToResponse(existing);
+        response.setPossibleDuplicates(toDuplicateReports(duplicates));
+        response.setMerged(true);
+        return response;
+    }
+
+    private static List<DuplicateReport> toDuplicateReports(List<DuplicateDetector.Match> duplicates) {
+        return duplicates.stream()
+                .map(match -> DuplicateReport.builder()
+                        .id(match.report().getId())
+                        .title(match.report().getTitle())
+                        .status(match.report().getStatus())
+                        .createdAt(match.report().getCreatedAt())
+                        .distanceMeters(Math.round(match.distanceMeters() * 10) / 10.0)
+                        .similarity(Math.round(match.similarity() * 100) / 100.0)
+                        .build())
                 .collect(Collectors.toList());
     }
 
+    public ReportPageResponse getReports(String status, String category, String priority, Long userId,
+                                         String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        ReportCursor position = cursor != null && !cursor.isBlank() ? ReportCursor.decode(cursor) : null;
+        log.info("Getting reports page: status={}, category={}, priority={}, userId={}, size={}",
+                status, category, priority, userId, pageSize);
+
+        LocalDateTime cursorCreatedAt = position != null ? position.getCreatedAt() : null;
+        Long cursorId = position != null ? position.getId() : null;
+
+        return singleFlight.execute(FLIGHT_PAGE,
+                Arrays.asList(status, category, priority, userId, cursorCreatedAt, cursorId, pageSize),
+                () -> loadPage(status, category, priority, userId, cursorCreatedAt, cursorId, pageSize));
+    }
+
+    private ReportPageResponse loadPage(String status, String category, String priority, Long userId,
+                                        LocalDateTime cursorCreatedAt, Long cursorId, int pageSize) {
+        Slice<Report> slice = reportRepository.findPage(status, category, priority, userId,
+                cursorCreatedAt, cursorId, PageRequest.of(0, pageSize));
+
+        List<Report> rows = slice.getContent();
+        String nextCursor = null;
+        if (slice.hasNext() && !rows.isEmpty()) {
+            Report last = rows.get(rows.size() - 1);
+            nextCursor = new ReportCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return ReportPageResponse.builder()
+                .items(rows.stream().map(ReportService::mapToResponse).collect(Collectors.toUnmodifiableList()))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Ranked full-text search over title and description. Every word is matched as a
+     * prefix (once it has min-prefix-length characters), so partial input works for
+     * type-ahead; all words must match. Only the newest max-candidates matches are
+     * ranked: that keeps a short, common prefix as cheap as a rare word, at the price of
+     * never returning older matches of such broad queries.
+     */
+    public ReportSearchResponse searchReports(String q, Integer page, Integer size) {
+        if (q == null || q.isBlank() || q.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new IllegalArgumentException("q must be 1-" + MAX_SEARCH_QUERY_LENGTH + " characters");
+        }
+        String tsQuery = toPrefixTsQuery(q, minPrefixLength);
+        if (tsQuery.isEmpty()) {
+            throw new IllegalArgumentException("q must contain at least one word");
+        }
+        int pageNumber = page != null && page > 0 ? page : 0;
+        int pageSize = resolvePageSize(size);
+        long offset = (long) pageNumber * pageSize;
+        if (offset >= maxSearchCandidates) {
+            throw new IllegalArgumentException("page is beyond the first " + maxSearchCandidates + " results");
+        }
+        log.info("Searching reports: q={}, page={}, size={}", q, pageNumber, pageSize);
+
+        return singleFlight.execute(FLIGHT_SEARCH, Arrays.asList(tsQuery, pageNumber, pageSize), () -> {
+            // One extra row tells whether there is a next page without a COUNT
+            List<Report> rows = reportRepository.search(tsQuery, maxSearchCandidates, (int) offset, pageSize + 1);
+            boolean hasNext = rows.size() > pageSize;
+            return ReportSearchResponse.builder()
+                    .items(rows.stream().limit(pageSize).map(ReportService::mapToResponse)
+                            .collect(Collectors.toUnmodifiableList()))
+                    .page(pageNumber)
+                    .size(pageSize)
+                    .hasNext(hasNext)
+                    .build();
+        });
+    }
+
+    /**
+     * Turns free text into a tsquery like {@code dziura:* & jezdn:*}. Only letters and
+     * digits survive, so user input cannot inject tsquery operators.
+     */
+    static String toPrefixTsQuery(String q, int minPrefixLength) {
+        List<String> terms = new ArrayList<>();
+        for (String word : q.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            terms.add(word.length() >= minPrefixLength ? word + ":*" : word);
+            if (terms.size() == MAX_SEARCH_TERMS) {
+                break;
+            }
+        }
+        return String.join(" & ", terms);
+    }
+
+    public ReportStatsResponse getStats(Integer days) {
+        return reportStatistics.getStats(days);
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return Math.min(DEFAULT_PAGE_SIZE, maxPageSize);
+        }
+        return Math.min(size, maxPageSize);
+    }
+
+    public List<ReportResponse> findNearby(double lat, double lon, double radiusMeters, Integer limit) {
+        if (radiusMeters <= 0 || radiusMeters > maxRadiusMeters) {
+            throw new IllegalArgumentException("radiusMeters must be between 0 and " + maxRadiusMeters);
+        }
+        if (lat < -90 || lat > 90 || lon < -180 || lon > 180) {
+            throw new IllegalArgumentException("Coordinates out of range");
+        }
+        log.info("Finding reports within {} m of ({}, {})", radiusMeters, lat, lon);
+        int resultLimit = resolveGeoLimit(limit);
+
+        return singleFlight.execute(FLIGHT_NEARBY, Arrays.asList(lat, lon, radiusMeters, resultLimit), () -> {
+            BoundingBox box = BoundingBox.around(lat, lon, radiusMeters);
+            // Nearest first in SQL, so the limit cannot drop closer reports in a dense area
+            List<Report> candidates = reportRepository.findNearestInGeohashCells(Geohash.cover(box), box,
+                    lat, lon, resultLimit);
+
+            // Candidates are the enclosing box; trim the corners and sort by exact distance
+            return candidates.stream()
+                    .filter(report -> distanceTo(report, lat, lon) <= radiusMeters)
+                    .sorted(Comparator.comparingDouble(report -> distanceTo(report, lat, lon)))
+                    .limit(resultLimit)
+                    .map(ReportService::mapToResponse)
+                    .collect(Collectors.toUnmodifiableList());
+        });
+    }
+
+    /**
+     * Newest reports inside the box. One row past the limit is fetched so the response
+     * can say whether the area holds more reports than were returned.
+     */
+    public ReportAreaResponse findWithin(String bbox, Integer limit) {
+        BoundingBox box = BoundingBox.parse(bbox);
+        log.info("Finding reports within bbox {}", bbox);
+        int resultLimit = resolveGeoLimit(limit);
+
+        return singleFlight.execute(FLIGHT_WITHIN, Arrays.asList(box.getMinLat(), box.getMinLon(),
+                box.getMaxLat(), box.getMaxLon(), resultLimit), () -> {
+            List<Report> rows = reportRepository.findInGeohashCells(Geohash.cover(box), box, resultLimit + 1);
+            boolean truncated = rows.size() > resultLimit;
+            return ReportAreaResponse.builder()
+                    .items(rows.stream()
+                            .limit(resultLimit)
+                            .map(ReportService::mapToResponse)
+                            .collect(Collectors.toUnmodifiableList()))
+                    .truncated(truncated)
+                    .build();
+        });
+    }
+
+    /**
+     * Lightweight variant of {@link #findWithin} for map views: only the marker columns
+     * are selected, so a larger limit is allowed.
+     */
+    public ReportMarkersResponse findMarkersWithin(String bbox, Integer limit) {
+        BoundingBox box = BoundingBox.parse(bbox);
+        log.info("Finding report markers within bbox {}", bbox);
+        int resultLimit = limit == null || limit <= 0 ? maxMarkers : Math.min(limit, maxMarkers);
+
+        return singleFlight.execute(FLIGHT_MAP, Arrays.asList(box.getMinLat(), box.getMinLon(),
+                box.getMaxLat(), box.getMaxLon(), resultLimit), () -> {
+            List<ReportMarker> rows = reportRepository.findMarkersInGeohashCells(Geohash.cover(box), box,
+                    resultLimit + 1);
+            boolean truncated = rows.size() > resultLimit;
+            return ReportMarkersResponse.builder()
+                    .items(List.copyOf(truncated ? rows.subList(0, resultLimit) : rows))
+                    .truncated(truncated)
+                    .build();
+        });
+    }
+
+    private int resolveGeoLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return Math.min(DEFAULT_GEO_LIMIT, maxGeoResults);
+        }
+        return Math.min(limit, maxGeoResults);
+    }
+
+    private static double distanceTo(Report report, double lat, double lon) {
+        return Geohash.distanceMeters(lat, lon, report.getLatitude(), report.getLongitude());
+    }
+
     public ReportResponse getReportById(Long id) {
         log.info("Getting report with ID: {}", id);
+        // Caffeine already serialises loads of one key, but a failed load (e.g. unknown id)
+        // is retried by every waiter in turn; single-flight shares the outcome either way
+        return cachedReport(id);
+    }
+
+    private ReportResponse cachedReport(Long id) {
+        return singleFlight.execute(FLIGHT_REPORT, id, () -> reportCache.get(id, this::loadReport));
+    }
+
+    private ReportResponse loadReport(Long id) {
         Report report = reportRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Report not found with id: " + id));
         return mapToResponse(report);
@@ -88,18 +381,55 @@ public class ReportService {
 
     @Transactional
     public ReportResponse updateReport(Long id, UpdateReportRequest request, Long authenticatedUserId) {
-        log.info("Updating report ID: {} by user ID: {}", id, authenticatedUserId);
+        return updateReport(id, request, authenticatedUserId, null);
+    }
 
-        Report report = reportRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Report not found with id: " + id));
+    /**
+     * @param expectedVersion version the client last saw (If-Match), or null to update
+     *                        whatever version is current
+     * @throws OptimisticLockingFailureException if the report has another version than
+     *                                           expected or was changed concurrently
+     */
+    @Transactional
+    public ReportResponse updateReport(Long id, UpdateReportRequest request, Long authenticatedUserId,
+                                       Long expectedVersion) {
+        log.info("Updating report ID: {} by user ID: {} (expected version: {})",
+                id, authenticatedUserId, expectedVersion);
 
-        // Check ownership
-        if (!report.getUserId().equals(authenticatedUserId)) {
-            log.warn("User {} attempted to update report {} owned by user {}",
-                    authenticatedUserId, id, report.getUserId());
-            throw new SecurityException("You can only update your own reports");
+        // Clients usually update what they have just read, so the cached copy is normally
+        // current and the update is a single conditional UPDATE. A stale copy only makes
+        // that UPDATE miss; the row is then re-read once from the database (refreshed, as it
+        // may already be in this persistence context).
+        ReportResponse current = cachedReport(id);
+        for (int attempt = 0; ; attempt++) {
+            // Check ownership
+            if (!current.getUserId().equals(authenticatedUserId)) {
+                log.warn("User {} attempted to update report {} owned by user {}",
+                        authenticatedUserId, id, current.getUserId());
+                throw new SecurityException("You can only update your own reports");
+            }
+
+            if (expectedVersion == null || expectedVersion.equals(current.getVersion())) {
+                Report report = toReport(current);
+                ReportStatistics.Dimensions before = ReportStatistics.Dimensions.of(report);
+                applyUpdate(report, request);
+                if (reportRepository.updateIfVersion(report)) {
+                    return completeUpdate(report, before, authenticatedUserId);
+                }
+            }
+
+            reportCache.invalidate(id);
+            if (attempt > 0) {
+                log.info("Report ID: {} was modified concurrently (expected version: {}, current: {})",
+                        id, expectedVersion, current.getVersion());
+                throw new OptimisticLockingFailureException("Report " + id + " has been modified");
+            }
+            current = mapToResponse(reportRepository.findCurrentById(id)
+                    .orElseThrow(() -> new IllegalArgumentException("Report not found with id: " + id)));
         }
+    }
 
+    private static void applyUpdate(Report report, UpdateReportRequest request) {
         // Update fields if provided
         if (request.getTitle() != null) {
             report.setTitle(request.getTitle());
@@ -122,9 +452,16 @@ public class ReportService {
         if (request.getLongitude() != null) {
             report.setLongitude(request.getLongitude());
         }
+    }
 
-        Report updatedReport = reportRepository.save(report);
-        log.info("Report ID: {} successfully updated", id);
+    private ReportResponse completeUpdate(Report updatedReport, ReportStatistics.Dimensions before,
+                                          Long authenticatedUserId) {
+        Long id = updatedReport.getId();
+        reportCache.invalidate(id);
+        singleFlight.forget(FLIGHT_REPORT, id);
+        forgetListFlights(singleFlight);
+        reportStatistics.recordUpdated(before, updatedReport);
+        log.info("Report ID: {} successfully updated to version {}", id, updatedReport.getVersion());
 
         // Publish audit event
         publishAudit("report.update", authenticatedUserId, null, "Report", updatedReport.getId(),
@@ -149,6 +486,10 @@ public class ReportService {
 
         String reportTitle = report.getTitle();
         reportRepository.deleteById(id);
+        reportCache.invalidate(id);
+        singleFlight.forget(FLIGHT_REPORT, id);
+        forgetListFlights(singleFlight);
+        reportStatistics.recordDeleted(ReportStatistics.Dimensions.of(report));
         log.info("Report ID: {} successfully deleted", id);
 
         // Publish audit event
@@ -156,7 +497,18 @@ public class ReportService {
                     "Report deleted: " + reportTitle);
     }
 
-    private ReportResponse mapToResponse(Report report) {
+    /**
+     * Detaches in-flight list, map and search reads; any write can change their results.
+     */
+    static void forgetListFlights(SingleFlight singleFlight) {
+        singleFlight.forget(FLIGHT_PAGE);
+        singleFlight.forget(FLIGHT_NEARBY);
+        singleFlight.forget(FLIGHT_WITHIN);
+        singleFlight.forget(FLIGHT_MAP);
+        singleFlight.forget(FLIGHT_SEARCH);
+    }
+
+    static ReportResponse mapToResponse(Report report) {
         return ReportResponse.builder()
                 .id(report.getId())
                 .userId(report.getUserId())
@@ -169,26 +521,44 @@ public class ReportService {
                 .longitude(report.getLongitude())
                 .createdAt(report.getCreatedAt())
                 .updatedAt(report.getUpdatedAt())
+                .version(report.getVersion())
+                .build();
+    }
+
+    private static Report toReport(ReportResponse response) {
+        return Report.builder()
+                .id(response.getId())
+                .userId(response.getUserId())
+                .title(response.getTitle())
+                .description(response.getDescription())
+                .status(response.getStatus())
+                .category(response.getCategory())
+                .priority(response.getPriority())
+                .latitude(response.getLatitude())
+                .longitude(response.getLongitude())
+                .createdAt(response.getCreatedAt())
+                .updatedAt(response.getUpdatedAt())
+                .version(response.getVersion())
                 .build();
     }
 
+    /**
+     * Queues the audit event in the caller's transaction: if the outbox insert fails, the
+     * report change is rolled back with it instead of committing without an audit row.
+     */
     private void publishAudit(String action, Long userId, String username,
                              String entityType, Long entityId, String details) {
-        try {
-            AuditEvent event = AuditEvent.builder()
-                    .eventType("REPORT")
-                    .userId(userId)
-                    .username(username)
-                    .entityType(entityType)
-                    .entityId(entityId)
-                    .action(action)
-                    .details(details)
-                    .timestamp(LocalDateTime.now())
-                    .build();
-            auditEventPublisher.publishAudit(action, event);
-        } catch (Exception e) {
-            log.error("Failed to publish audit event: {}", e.getMessage());
-        }
+        AuditEvent event = AuditEvent.builder()
+                .eventType("REPORT")
+                .userId(userId)
+                .username(username)
+                .entityType(entityType)
+                .entityId(entityId)
+                .action(action)
+                .details(details)
+                .timestamp(LocalDateTime.now())
+                .build();
+        auditEventPublisher.publishAudit(action, event);
     }
 }
 
@@ -0,0 +1,266 @@
+package org.example.reportservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.example.reportservice.dto.ReportStatsResponse;
+import org.example.reportservice.entity.Report;
+import org.example.reportservice.repository.ReportRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory report counts per status, category, priority and creation day for the
+ * dashboard. Writes adjust the counters after their transaction commits; a periodic
+ * GROUP BY replaces them with the database totals, correcting drift and picking up
+ * writes made by other instances.
+ */
+@Slf4j
+@Component
+public class ReportStatistics {
+    static final String UNKNOWN = "UNKNOWN";
+
+    // GROUPING(status, category, priority, day) for each grouping set, see countByDimensions
+    private static final int GROUPED_BY_STATUS = 0b0111;
+    private static final int GROUPED_BY_CATEGORY = 0b1011;
+    private static final int GROUPED_BY_PRIORITY = 0b1101;
+    private static final int GROUPED_BY_DAY = 0b1110;
+
+    /**
+     * The counted attributes of one report.
+     */
+    public record Dimensions(String status, String category, String priority, LocalDate day) {
+        public static Dimensions of(Report report) {
+            return new Dimensions(report.getStatus(), report.getCategory(), report.getPriority(),
+                    report.getCreatedAt() != null ? report.getCreatedAt().toLocalDate() : null);
+        }
+    }
+
+    private static final class Counts {
+        final LongAdder total = new LongAdder();
+        final Map<String, LongAdder> byStatus = new ConcurrentHashMap<>();
+        final Map<String, LongAdder> byCategory = new ConcurrentHashMap<>();
+        final Map<String, LongAdder> byPriority = new ConcurrentHashMap<>();
+        final Map<LocalDate, LongAdder> byDay = new ConcurrentHashMap<>();
+
+        void add(Dimensions dimensions, long delta) {
+            total.add(delta);
+            adder(byStatus, label(dimensions.status())).add(delta);
+            adder(byCategory, label(dimensions.category())).add(delta);
+            adder(byPriority, label(dimensions.priority())).add(delta);
+            if (dimensions.day() != null) {
+                adder(byDay, dimensions.day()).add(delta);
+            }
+        }
+
+        private static <K> LongAdder adder(Map<K, LongAdder> counters, K key) {
+            return counters.computeIfAbsent(key, k -> new LongAdder());
+        }
+    }
+
+    private final ReportRepository reportRepository;
+    private final Timer reconcileTimer;
+    private final Counter driftCounter;
+
+    private volatile Counts counts = new Counts();
+    // While a reconciliation runs, deltas also go to its fresh counts
+    private volatile Counts pending;
+    private volatile LocalDateTime reconciledAt;
+
+    @Value("${reports.stats.max-days:366}")
+    private int maxDays = 366;
+
+    @Autowired
+    public ReportStatistics(ReportRepository reportRepository, MeterRegistry meterRegistry) {
+        this.reportRepository = reportRepository;
+        this.reconcileTimer = Timer.builder("reports.stats.reconcile")
+                .description("Time to recount reports with GROUP BY")
+                .register(meterRegistry);
+        this.driftCounter = Counter.builder("reports.stats.drift")
+                .description("Absolute difference between in-memory and database counts found by reconciliation")
+                .register(meterRegistry);
+    }
+
+    public void recordCreated(Report report) {
+        Dimensions created = Dimensions.of(report);
+        afterCommit(() -> apply(created, 1));
+    }
+
+    public void recordUpdated(Dimensions before, Report report) {
+        recordUpdated(before, Dimensions.of(report));
+    }
+
+    public void recordUpdated(Dimensions before, Dimensions after) {
+        if (before.equals(after)) {
+            return;
+        }
+        afterCommit(() -> {
+            apply(before, -1);
+            apply(after, 1);
+        });
+    }
+
+    public void recordDeleted(Dimensions deleted) {
+        afterCommit(() -> apply(deleted, -1));
+    }
+
+    /**
+     * @param days number of most recent days (including today) in createdPerDay
+     */
+    public ReportStatsResponse getStats(Integer days) {
+        if (reconciledAt == null) {
+            reconcileOnce();
+        }
+        int window = days == null || days <= 0 ? 30 : days;
+        if (window > maxDays) {
+            throw new IllegalArgumentException("days must be between 1 and " + maxDays);
+        }
+
+        Counts current = counts;
+        Map<String, Long> createdPerDay = new LinkedHashMap<>();
+        LocalDate today = LocalDate.now();
+        for (LocalDate day = today.minusDays(window - 1L); !day.isAfter(today); day = day.plusDays(1)) {
+            LongAdder adder = current.byDay.get(day);
+            createdPerDay.put(day.toString(), adder != null ? Math.max(0, adder.sum()) : 0L);
+        }
+
+        return ReportStatsResponse.builder()
+                .total(Math.max(0, current.total.sum()))
+                .byStatus(snapshot(current.byStatus))
+                .byCategory(snapshot(current.byCategory))
+                .byPriority(snapshot(current.byPriority))
+                .createdPerDay(createdPerDay)
+                .reconciledAt(reconciledAt)
+                .build();
+    }
+
+    @Scheduled(fixedDelayString = "${reports.stats.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        try {
+            reconcileOnce();
+        } catch (Exception e) {
+            log.error("Report statistics reconciliation failed: {}", e.getMessage(), e);
+        }
+    }
+
+    synchronized void reconcileOnce() {
+        Counts fresh = new Counts();
+        pending = fresh;
+        try {
+            // Deltas committed from here on land in fresh as well; one committed just before
+            // the query snapshot may be counted twice until the next run
+            List<Object[]> rows = reconcileTimer.record(() -> reportRepository.countByDimensions());
+            for (Object[] row : rows) {
+                int grouping = ((Number) row[0]).intValue();
+                long count = ((Number) row[5]).longValue();
+                switch (grouping) {
+                    case GROUPED_BY_STATUS -> addTo(fresh.byStatus, label((String) row[1]), count);
+                    case GROUPED_BY_CATEGORY -> addTo(fresh.byCategory, label((String) row[2]), count);
+                    case GROUPED_BY_PRIORITY -> {
+                        addTo(fresh.byPriority, label((String) row[3]), count);
+                        fresh.total.add(count);
+                    }
+                    case GROUPED_BY_DAY -> {
+                        if (row[4] != null) {
+                            addTo(fresh.byDay, toLocalDate(row[4]), count);
+                        }
+                    }
+                    default -> log.warn("Unexpected grouping {} in report statistics", grouping);
+                }
+            }
+
+            Counts previous = counts;
+            counts = fresh;
+            if (reconciledAt != null) {
+                driftCounter.increment(drift(previous, fresh));
+            }
+            reconciledAt = LocalDateTime.now();
+        } finally {
+            pending = null;
+        }
+        log.debug("Report statistics reconciled: {} reports", counts.total.sum());
+    }
+
+    private void apply(Dimensions dimensions, long delta) {
+        // Read pending before counts: once pending is cleared, counts already points at it
+        Counts reconciling = pending;
+        Counts current = counts;
+        current.add(dimensions, delta);
+        if (reconciling != null && reconciling != current) {
+            reconciling.add(dimensions, delta);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static long drift(Counts before, Counts after) {
+        return Math.abs(before.total.sum() - after.total.sum())
+                + drift(before.byStatus, after.byStatus)
+                + drift(before.byCategory, after.byCategory)
+                + drift(before.byPriority, after.byPriority);
+    }
+
+    private static <K> long drift(Map<K, LongAdder> before, Map<K, LongAdder> after) {
+        Map<K, Long> difference = new HashMap<>();
+        before.forEach((key, adder) -> difference.merge(key, adder.sum(), Long::sum));
+        after.forEach((key, adder) -> difference.merge(key, -adder.sum(), Long::sum));
+        return difference.values().stream().mapToLong(Math::abs).sum();
+    }
+
+    private static <K> void addTo(Map<K, LongAdder> counters, K key, long count) {
+        counters.computeIfAbsent(key, k -> new LongAdder()).add(count);
+    }
+
+    private static Map<String, Long> snapshot(Map<String, LongAdder> counters) {
+        Map<String, Long> result = new TreeMap<>();
+        counters.forEach((key, adder) -> {
+            long value = adder.sum();
+            if (value > 0) {
+                result.put(key, value);
+            }
+        });
+        return result;
+    }
+
+    private static String label(String value) {
+        return Objects.requireNonNullElse(value, UNKNOWN);
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        if (value instanceof LocalDate date) {
+            return date;
+        }
+        if (value instanceof Date date) {
+            return date.toLocalDate();
+        }
+        return LocalDate.parse(value.toString());
+    }
+}
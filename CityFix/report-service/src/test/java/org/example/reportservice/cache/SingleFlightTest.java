@@ -0,0 +1,158 @@
+package org.example.reportservice.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlight singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight(meterRegistry);
+    }
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        int callers = 8;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            Future<String> leader = executor.submit(() -> singleFlight.execute("report", 1L, () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return "report-1";
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            List<Future<String>> followers = new ArrayList<>();
+            for (int i = 1; i < callers; i++) {
+                followers.add(executor.submit(() -> singleFlight.execute("report", 1L, () -> {
+                    loads.incrementAndGet();
+                    return "unexpected";
+                })));
+            }
+            waitFor(() -> coalesced("report") == callers - 1);
+            release.countDown();
+
+            assertEquals("report-1", leader.get(5, TimeUnit.SECONDS));
+            for (Future<String> follower : followers) {
+                assertEquals("report-1", follower.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("reports.singleflight.requests")
+                .tag("operation", "report").tag("outcome", "executed").counter().count());
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    @Test
+    void followersReceiveTheLeadersException() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Object> leader = executor.submit(() -> singleFlight.execute("report", 999L, () -> {
+                loading.countDown();
+                await(release);
+                throw new IllegalArgumentException("Report not found with id: 999");
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            Future<Object> follower = executor.submit(() -> {
+                try {
+                    return singleFlight.execute("report", 999L, () -> "unexpected");
+                } catch (IllegalArgumentException e) {
+                    return e;
+                }
+            });
+            waitFor(() -> coalesced("report") == 1);
+            release.countDown();
+
+            Exception leaderFailure = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalArgumentException.class, leaderFailure.getCause());
+            assertInstanceOf(IllegalArgumentException.class, follower.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void completedCallsAreNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+
+        singleFlight.execute("page", List.of("OPEN", 20), loads::incrementAndGet);
+        int second = singleFlight.execute("page", List.of("OPEN", 20), loads::incrementAndGet);
+
+        assertEquals(2, second);
+        assertEquals(0, coalesced("page"));
+    }
+
+    @Test
+    void forgetDetachesInFlightCall() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> stale = executor.submit(() -> singleFlight.execute("page", "OPEN", () -> {
+                loading.countDown();
+                await(release);
+                return "before-write";
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            singleFlight.forget("page");
+
+            assertEquals("after-write", singleFlight.execute("page", "OPEN", () -> "after-write"));
+            release.countDown();
+            assertEquals("before-write", stale.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(0, coalesced("page"));
+    }
+
+    private double coalesced(String operation) {
+        Counter counter = meterRegistry.find("reports.singleflight.requests")
+                .tag("operation", operation).tag("outcome", "coalesced").counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package org.example.reportservice.dedup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.reportservice.dto.CreateReportRequest;
+import org.example.reportservice.entity.Report;
+import org.example.reportservice.repository.ReportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DuplicateDetectorTest {
+    private static final double LAT = 52.2297;
+    private static final double LON = 21.0122;
+
+    @Mock
+    private ReportRepository reportRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private DuplicateDetector detector;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        detector = new DuplicateDetector(reportRepository, meterRegistry);
+    }
+
+    @Test
+    void findsSimilarNearbyReportInSameCategory() {
+        Report samePothole = report(1L, "Duża dziura w jezdni", "ROADS", LAT + 0.0001, LON);
+        Report streetLight = report(2L, "Zepsuta latarnia", "ROADS", LAT, LON + 0.0001);
+        Report otherCategory = report(3L, "Dziura w jezdni", "LIGHTING", LAT, LON);
+        Report tooFar = report(4L, "Dziura w jezdni", "ROADS", LAT + 0.001, LON + 0.001);
+        when(reportRepository.findInGeohashCells(anyCollection(), any(), any(LocalDateTime.class), anyInt()))
+                .thenReturn(List.of(samePothole, streetLight, otherCategory, tooFar));
+
+        List<DuplicateDetector.Match> matches = detector.findDuplicates(request("Dziura w jezdni", "ROADS"));
+
+        assertEquals(1, matches.size());
+        assertEquals(1L, matches.get(0).report().getId());
+        assertTrue(matches.get(0).distanceMeters() < 50);
+        assertTrue(matches.get(0).similarity() > 0.7);
+        assertEquals(1.0, meterRegistry.get("reports.duplicates.checked").tag("outcome", "duplicate")
+                .counter().count());
+    }
+
+    @Test
+    void usesStoredSignatureWhenPresent() {
+        Report stored = report(1L, "Zupełnie inny tytuł", "ROADS", LAT, LON);
+        stored.setSimhash(SimHash.of("Dziura w jezdni", null));
+        when(reportRepository.findInGeohashCells(anyCollection(), any(), any(LocalDateTime.class), anyInt()))
+                .thenReturn(List.of(stored));
+
+        List<DuplicateDetector.Match> matches = detector.findDuplicates(request("Dziura w jezdni", "ROADS"));
+
+        assertEquals(1, matches.size());
+        assertEquals(0, matches.get(0).bitDistance());
+    }
+
+    @Test
+    void doesNotMatchOnLocationAloneWhenNewReportHasNoText() {
+        CreateReportRequest request = request("Ul. 3 A", "ROADS");
+
+        assertTrue(detector.findDuplicates(request).isEmpty());
+        verifyNoInteractions(reportRepository);
+        assertEquals(1.0, meterRegistry.get("reports.duplicates.checked").tag("outcome", "no_text")
+                .counter().count());
+    }
+
+    @Test
+    void ignoresNearbyReportsWithoutText() {
+        Report noText = report(1L, "?!", "ROADS", LAT, LON);
+        noText.setSimhash(SimHash.EMPTY);
+        Report samePothole = report(2L, "Dziura w jezdni", "ROADS", LAT, LON);
+        when(reportRepository.findInGeohashCells(anyCollection(), any(), any(LocalDateTime.class), anyInt()))
+                .thenReturn(List.of(noText, samePothole));
+
+        List<DuplicateDetector.Match> matches = detector.findDuplicates(request("Dziura w jezdni", "ROADS"));
+
+        assertEquals(List.of(2L), matches.stream().map(match -> match.report().getId()).toList());
+    }
+
+    @Test
+    void skipsReportsWithoutCoordinates() {
+        CreateReportRequest request = CreateReportRequest.builder().title("Dziura w jezdni").build();
+
+        assertTrue(detector.findDuplicates(request).isEmpty());
+        verifyNoInteractions(reportRepository);
+    }
+
+    private static CreateReportRequest request(String title, String category) {
+        return CreateReportRequest.builder()
+                .title(title)
+                .category(category)
+                .latitude(LAT)
+                .longitude(LON)
+                .build();
+    }
+
+    private static Report report(Long id, String title, String category, double lat, double lon) {
+        return Report.builder()
+                .id(id)
+                .userId(9L)
+                .title(title)
+                .category(category)
+                .status("OPEN")
+                .latitude(lat)
+                .longitude(lon)
+                .createdAt(LocalDateTime.now().minusDays(1))
+                .build();
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.reportservice.dedup;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimHashTest {
+
+    @Test
+    void identicalTextHasIdenticalSignature() {
+        assertEquals(SimHash.of("Dziura w jezdni", "Przy ul. Prostej 5"),
+                SimHash.of("DZIURA w jezdni!", "przy ul. prostej 5"));
+    }
+
+    @Test
+    void similarTextIsCloserThanUnrelatedText() {
+        long pothole = SimHash.of("Dziura w jezdni", "Duża dziura, niebezpieczna dla samochodów");
+        long samePothole = SimHash.of("Duża dziura na jezdni", "Dziura w asfalcie niebezpieczna dla samochodów");
+        long streetLight = SimHash.of("Zepsuta latarnia", "Nie świeci latarnia przy przejściu");
+
+        int similar = SimHash.distance(pothole, samePothole);
+        int unrelated = SimHash.distance(pothole, streetLight);
+
+        assertTrue(similar <= 18, "similar reports differ in " + similar + " bits");
+        assertTrue(unrelated > similar);
+    }
+
+    @Test
+    void shortWordsAndPunctuationAreIgnored() {
+        assertEquals(SimHash.of("Latarnia", null), SimHash.of("w latarnia, i", ""));
+        assertEquals(SimHash.EMPTY, SimHash.of("w i z", null));
+    }
+
+    @Test
+    void distanceCountsDifferingBits() {
+        assertEquals(0, SimHash.distance(0x5L, 0x5L));
+        assertEquals(2, SimHash.distance(0x5L, 0x0L));
+        assertEquals(64, SimHash.distance(0L, -1L));
+    }
+}
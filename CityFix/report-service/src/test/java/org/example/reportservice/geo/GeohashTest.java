@@ -0,0 +1,51 @@
+package org.example.reportservice.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeohashTest {
+
+    @Test
+    void testEncodeKnownPoint() {
+        assertEquals("u4pruydqqvj", Geohash.encode(57.64911, 10.40744, 11));
+        assertEquals(Geohash.STORED_PRECISION, Geohash.encode(52.2297, 21.0122).length());
+    }
+
+    @Test
+    void testCoverContainsHashOfEveryPointInBox() {
+        BoundingBox box = BoundingBox.around(52.2297, 21.0122, 500);
+        Set<String> cells = Geohash.cover(box);
+
+        assertFalse(cells.isEmpty());
+        for (double lat = box.getMinLat(); lat <= box.getMaxLat(); lat += 0.001) {
+            for (double lon = box.getMinLon(); lon <= box.getMaxLon(); lon += 0.001) {
+                String hash = Geohash.encode(lat, lon);
+                assertTrue(cells.stream().anyMatch(hash::startsWith), "Not covered: " + hash);
+            }
+        }
+    }
+
+    @Test
+    void testCoverOfWholeWorldUsesSingleCharacterCells() {
+        Set<String> cells = Geohash.cover(BoundingBox.parse("-180,-90,180,90"));
+
+        assertEquals(32, cells.size());
+    }
+
+    @Test
+    void testParseRejectsMalformedBbox() {
+        assertThrows(IllegalArgumentException.class, () -> BoundingBox.parse("1,2,3"));
+        assertThrows(IllegalArgumentException.class, () -> BoundingBox.parse("a,b,c,d"));
+        assertThrows(IllegalArgumentException.class, () -> BoundingBox.parse("21.1,52.3,21.0,52.2"));
+    }
+
+    @Test
+    void testDistanceMeters() {
+        double warsawToPoznan = Geohash.distanceMeters(52.2297, 21.0122, 52.4064, 16.9252);
+
+        assertEquals(278_500, warsawToPoznan, 1_000);
+    }
+}
@@ -0,0 +1,232 @@
+package org.example.reportservice.messaging;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.reportservice.entity.OutboxEvent;
+import org.example.reportservice.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        outboxRelay = new OutboxRelay(outboxEventRepository, rabbitTemplate, transactionManager, meterRegistry);
+    }
+
+    private OutboxEvent outboxEvent(Long id) {
+        return OutboxEvent.builder()
+                .id(id)
+                .exchange("cityfix.reports")
+                .routingKey("report.created")
+                .typeId("org.example.reportservice.event.ReportCreatedEvent")
+                .payload("{\"reportId\":" + id + "}")
+                .createdAt(LocalDateTime.now().minusSeconds(1))
+                .build();
+    }
+
+    private OutboxEvent outboxEvent(Long id, String exchange) {
+        OutboxEvent event = outboxEvent(id);
+        event.setExchange(exchange);
+        return event;
+    }
+
+    /**
+     * Backs the repository with a list that behaves like report_outbox: due, unparked rows
+     * in id order, leases, deletes and failed-attempt updates.
+     */
+    @SuppressWarnings("unchecked")
+    private void simulateOutbox(List<OutboxEvent> outbox) {
+        when(outboxEventRepository.lockNextBatch(any(LocalDateTime.class), anyInt())).thenAnswer(invocation -> {
+            LocalDateTime now = invocation.getArgument(0);
+            return outbox.stream()
+                    .filter(event -> event.getParkedAt() == null)
+                    .filter(event -> event.getNextAttemptAt() == null || !event.getNextAttemptAt().isAfter(now))
+                    .sorted(Comparator.comparing(OutboxEvent::getId))
+                    .limit(invocation.<Integer>getArgument(1))
+                    .toList();
+        });
+        when(outboxEventRepository.lease(anyCollection(), any(LocalDateTime.class))).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            outbox.stream().filter(event -> ids.contains(event.getId()))
+                    .forEach(event -> event.setNextAttemptAt(invocation.getArgument(1)));
+            return ids.size();
+        });
+        when(outboxEventRepository.deleteByIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            outbox.removeIf(event -> ids.contains(event.getId()));
+            return ids.size();
+        });
+        when(outboxEventRepository.markFailed(anyCollection(), any(), any(), any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            outbox.stream().filter(event -> ids.contains(event.getId())).forEach(event -> {
+                event.setAttempts(event.getAttempts() + 1);
+                event.setLastError(invocation.getArgument(1));
+                event.setNextAttemptAt(invocation.getArgument(2));
+                event.setParkedAt(invocation.getArgument(3));
+            });
+            return ids.size();
+        });
+    }
+
+    private void ackUnlessExchange(String missing) {
+        doAnswer(invocation -> {
+            boolean ack = !missing.equals(invocation.getArgument(0));
+            CorrelationData correlation = invocation.getArgument(3);
+            correlation.getFuture().complete(new CorrelationData.Confirm(ack, ack ? null : "no exchange '" + missing + "'"));
+            return null;
+        }).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+    }
+
+    private List<Long> sentIds() {
+        ArgumentCaptor<CorrelationData> correlations = ArgumentCaptor.forClass(CorrelationData.class);
+        verify(rabbitTemplate, atLeastOnce()).send(anyString(), anyString(), any(Message.class), correlations.capture());
+        return correlations.getAllValues().stream().map(correlation -> Long.valueOf(correlation.getId())).toList();
+    }
+
+    private void confirmWith(boolean ack) {
+        doAnswer(invocation -> {
+            CorrelationData correlation = invocation.getArgument(3);
+            correlation.getFuture().complete(new CorrelationData.Confirm(ack, ack ? null : "broker error"));
+            return null;
+        }).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+    }
+
+    @Test
+    void testRelayBatchDeletesConfirmedMessages() {
+        when(outboxEventRepository.lockNextBatch(any(LocalDateTime.class), anyInt())).thenReturn(List.of(outboxEvent(1L), outboxEvent(2L)));
+        confirmWith(true);
+
+        int published = outboxRelay.relayBatch();
+
+        assertEquals(2, published);
+        verify(outboxEventRepository).deleteByIds(Set.of(1L, 2L));
+        verify(outboxEventRepository, never()).markFailed(any(), any(), any(), any());
+        assertEquals(2.0, meterRegistry.counter("outbox.relay.published", "exchange", "cityfix.reports").count());
+        assertEquals(2, meterRegistry.timer("outbox.relay.lag").count());
+    }
+
+    @Test
+    void testRelayBatchSendsStoredPayloadAndTypeHeader() {
+        when(outboxEventRepository.lockNextBatch(any(LocalDateTime.class), anyInt())).thenReturn(List.of(outboxEvent(7L)));
+        confirmWith(true);
+
+        outboxRelay.relayBatch();
+
+        verify(rabbitTemplate).send(eq("cityfix.reports"), eq("report.created"), argThat(message ->
+                new String(message.getBody(), StandardCharsets.UTF_8).equals("{\"reportId\":7}")
+                        && "org.example.reportservice.event.ReportCreatedEvent".equals(
+                                message.getMessageProperties().getHeaders().get("__TypeId__"))
+                        && "report-outbox-7".equals(message.getMessageProperties().getMessageId())),
+                any(CorrelationData.class));
+    }
+
+    @Test
+    void testRelayBatchKeepsNackedMessages() {
+        when(outboxEventRepository.lockNextBatch(any(LocalDateTime.class), anyInt())).thenReturn(List.of(outboxEvent(1L)));
+        confirmWith(false);
+
+        int published = outboxRelay.relayBatch();
+
+        assertEquals(0, published);
+        verify(outboxEventRepository, never()).deleteByIds(any());
+        verify(outboxEventRepository).markFailed(eq(List.of(1L)), contains("broker error"),
+                any(LocalDateTime.class), isNull());
+        assertEquals(1.0, meterRegistry.counter("outbox.relay.failed").count());
+    }
+
+    @Test
+    void testRelayBatchKeepsMessagesWhenBrokerUnavailable() {
+        when(outboxEventRepository.lockNextBatch(any(LocalDateTime.class), anyInt())).thenReturn(List.of(outboxEvent(1L)));
+        doThrow(new org.springframework.amqp.AmqpConnectException(new java.net.ConnectException("refused")))
+                .when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+
+        int published = outboxRelay.relayBatch();
+
+        assertEquals(0, published);
+        verify(outboxEventRepository, never()).deleteByIds(any());
+        verify(outboxEventRepository).markFailed(eq(List.of(1L)), any(), any(LocalDateTime.class), isNull());
+    }
+
+    @Test
+    void testFailingBatchAtHeadDoesNotBlockLaterMessages() {
+        List<OutboxEvent> outbox = new ArrayList<>();
+        LongStream.rangeClosed(1, 100).forEach(id -> outbox.add(outboxEvent(id, "missing.exchange")));
+        outbox.add(outboxEvent(101L));
+        outbox.add(outboxEvent(102L));
+        simulateOutbox(outbox);
+        ackUnlessExchange("missing.exchange");
+
+        outboxRelay.relay();
+        outboxRelay.relay();
+
+        assertEquals(List.of(101L, 102L), sentIds().stream().filter(id -> id > 100).toList());
+        assertEquals(100, outbox.size());
+        assertTrue(outbox.stream().allMatch(event -> event.getAttempts() == 1
+                && event.getNextAttemptAt().isAfter(LocalDateTime.now())
+                && event.getParkedAt() == null
+                && event.getLastError().contains("no exchange")));
+        assertEquals(2.0, meterRegistry.counter("outbox.relay.published", "exchange", "cityfix.reports").count());
+    }
+
+    @Test
+    void testMessageIsParkedAfterMaxAttempts() {
+        OutboxEvent poison = outboxEvent(1L, "missing.exchange");
+        poison.setAttempts(19);
+        List<OutboxEvent> outbox = new ArrayList<>(List.of(poison, outboxEvent(2L)));
+        simulateOutbox(outbox);
+        ackUnlessExchange("missing.exchange");
+
+        outboxRelay.relay();
+        outboxRelay.relay();
+
+        assertEquals(List.of(poison), outbox);
+        assertEquals(20, poison.getAttempts().intValue());
+        assertNotNull(poison.getParkedAt());
+        assertEquals(1.0, meterRegistry.counter("outbox.relay.parked").count());
+        assertEquals(List.of(1L, 2L), sentIds());
+    }
+
+    @Test
+    void testRelayBatchWithEmptyOutbox() {
+        when(outboxEventRepository.lockNextBatch(any(LocalDateTime.class), anyInt())).thenReturn(List.of());
+
+        assertEquals(0, outboxRelay.relayBatch());
+        verifyNoInteractions(rabbitTemplate);
+    }
+}
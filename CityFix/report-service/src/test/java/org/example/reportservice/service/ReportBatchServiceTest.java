@@ -0,0 +1,222 @@
+package org.example.reportservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.example.reportservice.cache.ReportCache;
+import org.example.reportservice.cache.SingleFlight;
+import org.example.reportservice.dto.BatchItemResult;
+import org.example.reportservice.dto.BatchResponse;
+import org.example.reportservice.dto.BatchStatusUpdateRequest;
+import org.example.reportservice.dto.CreateReportRequest;
+import org.example.reportservice.entity.Report;
+import org.example.reportservice.messaging.AuditEventPublisher;
+import org.example.reportservice.messaging.ReportEventPublisher;
+import org.example.reportservice.repository.ReportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportBatchServiceTest {
+
+    @Mock
+    private ReportRepository reportRepository;
+
+    @Mock
+    private ReportEventPublisher eventPublisher;
+
+    @Mock
+    private AuditEventPublisher auditEventPublisher;
+
+    private ReportBatchService batchService;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ReportCache reportCache = new ReportCache(meterRegistry, eventPublisher, 100, Duration.ofMinutes(5));
+        batchService = new ReportBatchService(reportRepository, eventPublisher, auditEventPublisher, reportCache,
+                new SingleFlight(meterRegistry), new ReportStatistics(reportRepository, meterRegistry),
+                Validation.buildDefaultValidatorFactory().getValidator());
+    }
+
+    @Test
+    void testCreateReportsInsertsAllInOneBatch() {
+        when(reportRepository.insertBatch(anyList())).thenAnswer(invocation -> {
+            List<Report> reports = invocation.getArgument(0);
+            long id = 10;
+            for (Report report : reports) {
+                report.setId(id++);
+                report.setCreatedAt(LocalDateTime.now());
+            }
+            return reports;
+        });
+
+        BatchResponse response = batchService.createReports(List.of(
+                CreateReportRequest.builder().title("Pothole").category("ROADS").build(),
+                CreateReportRequest.builder().title("Graffiti").priority("LOW").build()), 1L);
+
+        assertEquals(2, response.getSucceeded());
+        assertEquals(0, response.getFailed());
+        assertEquals(List.of(10L, 11L), response.getResults().stream().map(BatchItemResult::getId).toList());
+        assertTrue(response.getResults().stream().allMatch(r -> r.getOutcome() == BatchItemResult.Outcome.CREATED));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Report>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(reportRepository).insertBatch(inserted.capture());
+        assertEquals("MEDIUM", inserted.getValue().get(0).getPriority());
+        assertEquals("LOW", inserted.getValue().get(1).getPriority());
+        assertTrue(inserted.getValue().stream().allMatch(r -> "OPEN".equals(r.getStatus()) && r.getUserId() == 1L));
+        verify(reportRepository, never()).save(any());
+        verify(eventPublisher).publishReportsCreated(argThat(events -> events.size() == 2));
+        verify(auditEventPublisher).publishAudits(eq("report.create"), argThat(audits -> audits.size() == 2));
+    }
+
+    @Test
+    void testCreateReportsStoresNothingWhenAnItemIsInvalid() {
+        BatchResponse response = batchService.createReports(List.of(
+                CreateReportRequest.builder().title("Pothole").build(),
+                CreateReportRequest.builder().title(" ").build()), 1L);
+
+        assertEquals(1, response.getFailed());
+        BatchItemResult invalid = response.getResults().get(0);
+        assertEquals(1, invalid.getIndex());
+        assertEquals(BatchItemResult.Outcome.INVALID, invalid.getOutcome());
+        assertEquals("Title is required", invalid.getError());
+        verify(reportRepository, never()).insertBatch(anyList());
+        verifyNoInteractions(eventPublisher, auditEventPublisher);
+    }
+
+    @Test
+    void testCreateReportsRejectsEmptyAndOversizedBatches() {
+        assertThrows(IllegalArgumentException.class, () -> batchService.createReports(List.of(), 1L));
+        assertThrows(IllegalArgumentException.class, () -> batchService.createReports(null, 1L));
+
+        List<CreateReportRequest> tooMany = new ArrayList<>(Collections.nCopies(501,
+                CreateReportRequest.builder().title("Pothole").build()));
+        assertThrows(IllegalArgumentException.class, () -> batchService.createReports(tooMany, 1L));
+        verifyNoInteractions(reportRepository);
+    }
+
+    @Test
+    void testUpdateStatusesReportsOutcomePerItem() {
+        when(reportRepository.findAllByIdReadOnly(anyCollection())).thenReturn(List.of(
+                report(1L, 1L, "OPEN"),
+                report(2L, 1L, "RESOLVED"),
+                report(3L, 2L, "OPEN")));
+        when(reportRepository.updateStatusBatch(anyList(), any(LocalDateTime.class))).thenReturn(Set.of(1L));
+
+        BatchResponse response = batchService.updateStatuses(List.of(
+                item(1L, "IN_PROGRESS"),
+                item(2L, "RESOLVED"),
+                item(3L, "CLOSED"),
+                item(4L, "CLOSED"),
+                item(1L, "CLOSED"),
+                item(5L, "")), 1L);
+
+        assertEquals(List.of(
+                        BatchItemResult.Outcome.UPDATED,
+                        BatchItemResult.Outcome.UNCHANGED,
+                        BatchItemResult.Outcome.FORBIDDEN,
+                        BatchItemResult.Outcome.NOT_FOUND,
+                        BatchItemResult.Outcome.INVALID,
+                        BatchItemResult.Outcome.INVALID),
+                response.getResults().stream().map(BatchItemResult::getOutcome).toList());
+        assertEquals(2, response.getSucceeded());
+        assertEquals(4, response.getFailed());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Report>> changes = ArgumentCaptor.forClass(List.class);
+        verify(reportRepository).updateStatusBatch(changes.capture(), any(LocalDateTime.class));
+        assertEquals(1, changes.getValue().size());
+        Report change = changes.getValue().get(0);
+        assertEquals(1L, change.getId());
+        assertEquals("IN_PROGRESS", change.getStatus());
+        assertEquals(3L, change.getVersion());
+        verify(reportRepository, never()).save(any());
+        verify(auditEventPublisher).publishAudits(eq("report.update"), argThat(audits -> audits.size() == 1));
+    }
+
+    @Test
+    void testUpdateStatusesReportsConflictWhenVersionChanged() {
+        when(reportRepository.findAllByIdReadOnly(anyCollection())).thenReturn(List.of(
+                report(1L, 1L, "OPEN"),
+                report(2L, 1L, "OPEN")));
+        when(reportRepository.updateStatusBatch(anyList(), any(LocalDateTime.class))).thenReturn(Set.of(2L));
+
+        BatchResponse response = batchService.updateStatuses(List.of(
+                item(1L, "CLOSED"),
+                item(2L, "CLOSED")), 1L);
+
+        BatchItemResult conflict = response.getResults().get(0);
+        assertEquals(BatchItemResult.Outcome.CONFLICT, conflict.getOutcome());
+        assertEquals("Report was modified concurrently", conflict.getError());
+        assertEquals(BatchItemResult.Outcome.UPDATED, response.getResults().get(1).getOutcome());
+        assertEquals(1, response.getSucceeded());
+        assertEquals(1, response.getFailed());
+        verify(auditEventPublisher).publishAudits(eq("report.update"),
+                argThat(audits -> audits.size() == 1 && audits.get(0).getEntityId() == 2L));
+    }
+
+    @Test
+    void testUpdateStatusesWithOnlyConflictsPublishesNoAudit() {
+        when(reportRepository.findAllByIdReadOnly(anyCollection())).thenReturn(List.of(report(1L, 1L, "OPEN")));
+        when(reportRepository.updateStatusBatch(anyList(), any(LocalDateTime.class))).thenReturn(Set.of());
+
+        BatchResponse response = batchService.updateStatuses(List.of(item(1L, "CLOSED")), 1L);
+
+        assertEquals(BatchItemResult.Outcome.CONFLICT, response.getResults().get(0).getOutcome());
+        verifyNoInteractions(auditEventPublisher);
+    }
+
+    @Test
+    void testUpdateStatusesWithOnlyInvalidItemsSkipsTheLookup() {
+        BatchResponse response = batchService.updateStatuses(List.of(item(1L, ""), item(null, "CLOSED")), 1L);
+
+        assertEquals(2, response.getFailed());
+        assertTrue(response.getResults().stream().allMatch(r -> r.getOutcome() == BatchItemResult.Outcome.INVALID));
+        verify(reportRepository, never()).findAllByIdReadOnly(anyCollection());
+        verify(reportRepository, never()).updateStatusBatch(anyList(), any());
+    }
+
+    @Test
+    void testUpdateStatusesWithNothingToChangeSkipsTheUpdate() {
+        when(reportRepository.findAllByIdReadOnly(anyCollection())).thenReturn(List.of(report(1L, 1L, "OPEN")));
+
+        BatchResponse response = batchService.updateStatuses(List.of(item(1L, "OPEN")), 1L);
+
+        assertEquals(BatchItemResult.Outcome.UNCHANGED, response.getResults().get(0).getOutcome());
+        verify(reportRepository, never()).updateStatusBatch(anyList(), any());
+        verifyNoInteractions(auditEventPublisher);
+    }
+
+    private static BatchStatusUpdateRequest.Item item(Long id, String status) {
+        return new BatchStatusUpdateRequest.Item(id, status);
+    }
+
+    private static Report report(Long id, Long userId, String status) {
+        return Report.builder()
+                .id(id)
+                .userId(userId)
+                .title("Report " + id)
+                .category("ROADS")
+                .priority("MEDIUM")
+                .status(status)
+                .version(3L)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
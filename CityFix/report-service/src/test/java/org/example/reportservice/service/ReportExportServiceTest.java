@@ -0,0 +1,87 @@
+package org.example.reportservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
+import org.example.reportservice.entity.Report;
+import org.example.reportservice.repository.ReportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportExportServiceTest {
+
+    @Mock
+    private ReportRepository reportRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private ObjectMapper objectMapper;
+
+    private ReportExportService reportExportService;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        reportExportService = new ReportExportService(reportRepository, entityManager, objectMapper);
+    }
+
+    @Test
+    void testExportNdjsonWritesOneLinePerReport() throws Exception {
+        Report report1 = Report.builder()
+                .id(1L)
+                .userId(1L)
+                .title("Pothole")
+                .status("OPEN")
+                .createdAt(LocalDateTime.of(2026, 1, 16, 10, 30))
+                .build();
+
+        Report report2 = Report.builder()
+                .id(2L)
+                .userId(2L)
+                .title("Broken street light")
+                .status("CLOSED")
+                .build();
+
+        when(reportRepository.streamAllForExport()).thenReturn(Stream.of(report1, report2));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = reportExportService.exportNdjson(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, count);
+        assertEquals(2, lines.length);
+        assertEquals("Pothole", objectMapper.readTree(lines[0]).get("title").asText());
+        assertEquals("2026-01-16T10:30:00", objectMapper.readTree(lines[0]).get("createdAt").asText());
+        assertEquals(2L, objectMapper.readTree(lines[1]).get("id").asLong());
+        verify(entityManager, times(2)).detach(any(Report.class));
+    }
+
+    @Test
+    void testExportNdjsonEmptyTable() throws Exception {
+        when(reportRepository.streamAllForExport()).thenReturn(Stream.empty());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = reportExportService.exportNdjson(out);
+
+        assertEquals(0, count);
+        assertEquals(0, out.size());
+        verify(entityManager, never()).detach(any());
+    }
+}
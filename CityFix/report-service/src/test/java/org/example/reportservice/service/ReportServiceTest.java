@@ -1,7 +1,16 @@
 package org.example.reportservice.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.reportservice.cache.ReportCache;
+import org.example.reportservice.cache.SingleFlight;
+import org.example.reportservice.dedup.DuplicateDetector;
 import org.example.reportservice.dto.CreateReportRequest;
+import org.example.reportservice.dto.ReportAreaResponse;
+import org.example.reportservice.dto.ReportMarker;
+import org.example.reportservice.dto.ReportMarkersResponse;
+import org.example.reportservice.dto.ReportPageResponse;
 import org.example.reportservice.dto.ReportResponse;
+import org.example.reportservice.dto.ReportSearchResponse;
 import org.example.reportservice.dto.UpdateReportRequest;
 import org.example.reportservice.entity.Report;
 import org.example.reportservice.messaging.AuditEventPublisher;
@@ -12,11 +21,25 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -34,11 +57,17 @@ class ReportServiceTest {
     @Mock
     private AuditEventPublisher auditEventPublisher;
 
+    private SimpleMeterRegistry meterRegistry;
+
     private ReportService reportService;
 
     @BeforeEach
     void setUp() {
-        reportService = new ReportService(reportRepository, eventPublisher, auditEventPublisher);
+        meterRegistry = new SimpleMeterRegistry();
+        ReportCache reportCache = new ReportCache(meterRegistry, eventPublisher, 100, Duration.ofMinutes(5));
+        reportService = new ReportService(reportRepository, eventPublisher, auditEventPublisher, reportCache,
+                new SingleFlight(meterRegistry), new ReportStatistics(reportRepository, meterRegistry),
+                new DuplicateDetector(reportRepository, meterRegistry));
     }
 
     @Test
@@ -80,6 +109,71 @@ class ReportServiceTest {
         verify(auditEventPublisher).publishAudit(eq("report.create"), any());
     }
 
+    @Test
+    void testCreateReportListsLikelyDuplicates() {
+        Report existing = Report.builder()
+                .id(7L)
+                .userId(2L)
+                .title("Large pothole")
+                .description("Large pothole on Main St")
+                .category("ROADS")
+                .status("OPEN")
+                .latitude(52.2297)
+                .longitude(21.0122)
+                .createdAt(LocalDateTime.now().minusDays(2))
+                .build();
+        when(reportRepository.findInGeohashCells(anyCollection(), any(), any(LocalDateTime.class), anyInt()))
+                .thenReturn(List.of(existing));
+        when(reportRepository.save(any(Report.class))).thenAnswer(invocation -> {
+            Report saved = invocation.getArgument(0);
+            saved.setId(8L);
+            return saved;
+        });
+
+        ReportResponse response = reportService.createReport(duplicateRequest(), 1L);
+
+        assertEquals(8L, response.getId());
+        assertNull(response.getMerged());
+        assertEquals(1, response.getPossibleDuplicates().size());
+        assertEquals(7L, response.getPossibleDuplicates().get(0).getId());
+        verify(eventPublisher).publishReportCreated(any());
+    }
+
+    @Test
+    void testCreateReportMergesIntoDuplicate() {
+        Report existing = Report.builder()
+                .id(7L)
+                .userId(2L)
+                .title("Large pothole")
+                .description("Large pothole on Main St")
+                .category("ROADS")
+                .status("OPEN")
+                .latitude(52.2297)
+                .longitude(21.0122)
+                .createdAt(LocalDateTime.now().minusDays(2))
+                .build();
+        when(reportRepository.findInGeohashCells(anyCollection(), any(), any(LocalDateTime.class), anyInt()))
+                .thenReturn(List.of(existing));
+
+        ReportResponse response = reportService.createReport(duplicateRequest(), 1L, true);
+
+        assertEquals(7L, response.getId());
+        assertTrue(response.getMerged());
+        verify(reportRepository, never()).save(any());
+        verify(eventPublisher, never()).publishReportCreated(any());
+        verify(auditEventPublisher).publishAudit(eq("report.merge"), any());
+    }
+
+    private static CreateReportRequest duplicateRequest() {
+        return CreateReportRequest.builder()
+                .title("Pothole")
+                .description("Large pothole on Main St")
+                .category("ROADS")
+                .latitude(52.2297)
+                .longitude(21.0123)
+                .build();
+    }
+
     @Test
     void testCreateReportWithDefaultPriority() {
         CreateReportRequest request = CreateReportRequest.builder()
@@ -114,43 +208,228 @@ class ReportServiceTest {
     }
 
     @Test
-    void testGetAllReportsSuccess() {
+    void testGetReportsFirstPage() {
         Report report1 = Report.builder()
-                .id(1L)
+                .id(2L)
                 .userId(1L)
                 .title("Report 1")
                 .category("INFRASTRUCTURE")
                 .status("OPEN")
+                .createdAt(LocalDateTime.of(2026, 1, 16, 10, 30))
                 .build();
 
         Report report2 = Report.builder()
-                .id(2L)
+                .id(1L)
                 .userId(2L)
                 .title("Report 2")
                 .category("ROADS")
                 .status("CLOSED")
+                .createdAt(LocalDateTime.of(2026, 1, 16, 10, 0))
+                .build();
+
+        when(reportRepository.findPage(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Arrays.asList(report1, report2), PageRequest.of(0, 2), true));
+
+        ReportPageResponse page = reportService.getReports(null, null, null, null, null, 2);
+
+        assertNotNull(page);
+        assertEquals(2, page.getItems().size());
+        assertEquals("Report 1", page.getItems().get(0).getTitle());
+        assertEquals("Report 2", page.getItems().get(1).getTitle());
+        assertNotNull(page.getNextCursor());
+
+        ReportCursor next = ReportCursor.decode(page.getNextCursor());
+        assertEquals(1L, next.getId());
+        assertEquals(report2.getCreatedAt(), next.getCreatedAt());
+    }
+
+    @Test
+    void testGetReportsContinuesFromCursorWithFilters() {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 1, 16, 10, 0);
+        String cursor = new ReportCursor(createdAt, 7L).encode();
+
+        when(reportRepository.findPage(eq("OPEN"), eq("ROADS"), isNull(), eq(3L), eq(createdAt), eq(7L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 20), false));
+
+        ReportPageResponse page = reportService.getReports("OPEN", "ROADS", null, 3L, cursor, null);
+
+        assertNotNull(page);
+        assertEquals(0, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testGetReportsCapsPageSize() {
+        when(reportRepository.findPage(any(), any(), any(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of()));
+
+        reportService.getReports(null, null, null, null, null, 100_000);
+
+        verify(reportRepository).findPage(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
+                argThat(pageable -> pageable.getPageSize() == 100));
+    }
+
+    @Test
+    void testSearchReportsRanksPrefixQueryAndDetectsNextPage() {
+        Report first = Report.builder().id(5L).userId(1L).title("Dziura w jezdni").build();
+        Report second = Report.builder().id(3L).userId(2L).title("Dziurawy chodnik").build();
+        Report extra = Report.builder().id(1L).userId(2L).title("Dziury na parkingu").build();
+
+        when(reportRepository.search("dziur:* & jezd:*", 1000, 2, 3))
+                .thenReturn(List.of(first, second, extra));
+
+        ReportSearchResponse result = reportService.searchReports("Dziur  jezd", 1, 2);
+
+        assertEquals(2, result.getItems().size());
+        assertEquals(5L, result.getItems().get(0).getId());
+        assertEquals(1, result.getPage());
+        assertTrue(result.isHasNext());
+    }
+
+    @Test
+    void testSearchReportsRejectsEmptyQuery() {
+        assertThrows(IllegalArgumentException.class, () -> reportService.searchReports("  ", null, null));
+        assertThrows(IllegalArgumentException.class, () -> reportService.searchReports("&|!", null, null));
+        verify(reportRepository, never()).search(any(), anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    void testSearchReportsRejectsPagesBeyondMaxCandidates() {
+        assertThrows(IllegalArgumentException.class, () -> reportService.searchReports("dziura", 10, 100));
+        verify(reportRepository, never()).search(any(), anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    void testToPrefixTsQueryStripsOperators() {
+        assertEquals("ulica:* & 3 & maja:*", ReportService.toPrefixTsQuery("Ulica 3-maja", 2));
+        assertEquals("zepsuta:* & latarnia:*", ReportService.toPrefixTsQuery("zepsuta' | !latarnia:*", 2));
+        assertEquals("źle:*", ReportService.toPrefixTsQuery("ŹLE", 2));
+    }
+
+    @Test
+    void testGetReportsInvalidCursor() {
+        assertThrows(IllegalArgumentException.class,
+                () -> reportService.getReports(null, null, null, null, "not-a-cursor", 10));
+        verify(reportRepository, never()).findPage(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testFindNearbyFiltersByRadiusAndSortsByDistance() {
+        Report far = Report.builder()
+                .id(1L)
+                .userId(1L)
+                .title("Corner of the box")
+                .latitude(52.2340)
+                .longitude(21.0190)
+                .build();
+
+        Report near = Report.builder()
+                .id(2L)
+                .userId(1L)
+                .title("Next door")
+                .latitude(52.2298)
+                .longitude(21.0123)
+                .build();
+
+        Report mid = Report.builder()
+                .id(3L)
+                .userId(1L)
+                .title("Down the street")
+                .latitude(52.2310)
+                .longitude(21.0122)
                 .build();
 
-        when(reportRepository.findAll()).thenReturn(Arrays.asList(report1, report2));
+        when(reportRepository.findNearestInGeohashCells(anyCollection(), any(), anyDouble(), anyDouble(), anyInt()))
+                .thenReturn(Arrays.asList(far, near, mid));
 
-        List<ReportResponse> responses = reportService.getAllReports();
+        List<ReportResponse> responses = reportService.findNearby(52.2297, 21.0122, 500, null);
 
-        assertNotNull(responses);
         assertEquals(2, responses.size());
-        assertEquals("Report 1", responses.get(0).getTitle());
-        assertEquals("Report 2", responses.get(1).getTitle());
-        verify(reportRepository).findAll();
+        assertEquals("Next door", responses.get(0).getTitle());
+        assertEquals("Down the street", responses.get(1).getTitle());
+    }
+
+    @Test
+    void testFindNearbyKeepsNearestWhenCandidatesExceedLimit() {
+        List<Report> dense = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            // Stored in reverse order of distance, so an arbitrary LIMIT would keep the farthest
+            dense.add(Report.builder()
+                    .id((long) i)
+                    .userId(1L)
+                    .title("Report " + i)
+                    .latitude(52.2297 + (10 - i) * 0.0001)
+                    .longitude(21.0122)
+                    .build());
+        }
+        // Simulates ORDER BY distance LIMIT :limit
+        when(reportRepository.findNearestInGeohashCells(anyCollection(), any(), eq(52.2297), eq(21.0122), anyInt()))
+                .thenAnswer(invocation -> dense.stream()
+                        .sorted(Comparator.comparingDouble(report -> Math.abs(report.getLatitude() - 52.2297)))
+                        .limit(invocation.<Integer>getArgument(4))
+                        .toList());
+
+        List<ReportResponse> responses = reportService.findNearby(52.2297, 21.0122, 500, 3);
+
+        assertEquals(List.of(9L, 8L, 7L), responses.stream().map(ReportResponse::getId).toList());
+        verify(reportRepository).findNearestInGeohashCells(anyCollection(), any(), eq(52.2297), eq(21.0122), eq(3));
+        verify(reportRepository, never()).findInGeohashCells(anyCollection(), any(), anyInt());
+    }
+
+    @Test
+    void testFindNearbyRejectsInvalidRadius() {
+        assertThrows(IllegalArgumentException.class, () -> reportService.findNearby(52.2, 21.0, 0, null));
+        assertThrows(IllegalArgumentException.class, () -> reportService.findNearby(52.2, 21.0, 1_000_000, null));
+        verify(reportRepository, never()).findNearestInGeohashCells(any(), any(), anyDouble(), anyDouble(), anyInt());
+    }
+
+    @Test
+    void testFindWithinUsesBboxAndLimit() {
+        when(reportRepository.findInGeohashCells(anyCollection(), any(), eq(11))).thenReturn(List.of());
+
+        ReportAreaResponse response = reportService.findWithin("21.0,52.2,21.1,52.3", 10);
+
+        assertEquals(0, response.getItems().size());
+        assertFalse(response.isTruncated());
+        verify(reportRepository).findInGeohashCells(anyCollection(),
+                argThat(box -> box.getMinLat() == 52.2 && box.getMaxLon() == 21.1), eq(11));
+    }
+
+    @Test
+    void testFindMarkersWithinSelectsOnlyMarkerColumns() {
+        ReportMarker marker = new ReportMarker(1L, 52.25, 21.05, "OPEN", "ROADS");
+        when(reportRepository.findMarkersInGeohashCells(anyCollection(), any(), eq(5001)))
+                .thenReturn(List.of(marker));
+
+        ReportMarkersResponse markers = reportService.findMarkersWithin("21.0,52.2,21.1,52.3", null);
+
+        assertEquals(List.of(marker), markers.getItems());
+        assertFalse(markers.isTruncated());
+        verify(reportRepository, never()).findInGeohashCells(anyCollection(), any(), anyInt());
+    }
+
+    @Test
+    void testFindMarkersWithinFlagsTruncatedArea() {
+        ReportMarker newest = new ReportMarker(3L, 52.25, 21.05, "OPEN", "ROADS");
+        ReportMarker older = new ReportMarker(2L, 52.26, 21.06, "OPEN", "ROADS");
+        ReportMarker oldest = new ReportMarker(1L, 52.27, 21.07, "OPEN", "ROADS");
+        when(reportRepository.findMarkersInGeohashCells(anyCollection(), any(), eq(3)))
+                .thenReturn(List.of(newest, older, oldest));
+
+        ReportMarkersResponse markers = reportService.findMarkersWithin("21.0,52.2,21.1,52.3", 2);
+
+        assertEquals(List.of(newest, older), markers.getItems());
+        assertTrue(markers.isTruncated());
     }
 
     @Test
-    void testGetAllReportsEmpty() {
-        when(reportRepository.findAll()).thenReturn(Arrays.asList());
+    void testFindMarkersWithinCapsLimit() {
+        when(reportRepository.findMarkersInGeohashCells(anyCollection(), any(), anyInt())).thenReturn(List.of());
 
-        List<ReportResponse> responses = reportService.getAllReports();
+        reportService.findMarkersWithin("21.0,52.2,21.1,52.3", 1_000_000);
 
-        assertNotNull(responses);
-        assertEquals(0, responses.size());
-        verify(reportRepository).findAll();
+        verify(reportRepository).findMarkersInGeohashCells(anyCollection(), any(), eq(5001));
+        assertThrows(IllegalArgumentException.class, () -> reportService.findMarkersWithin("21.0,52.2", null));
     }
 
     @Test
@@ -179,6 +458,83 @@ class ReportServiceTest {
         verify(reportRepository).findById(1L);
     }
 
+    @Test
+    void testGetReportByIdServedFromCache() {
+        Report report = Report.builder()
+                .id(1L)
+                .userId(1L)
+                .title("Broken street light")
+                .build();
+
+        when(reportRepository.findById(1L)).thenReturn(Optional.of(report));
+
+        reportService.getReportById(1L);
+        ReportResponse response = reportService.getReportById(1L);
+
+        assertEquals("Broken street light", response.getTitle());
+        verify(reportRepository, times(1)).findById(1L);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void testConcurrentGetReportByIdSharesOneLookup() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(reportRepository.findById(999L)).thenAnswer(invocation -> {
+            loading.countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return Optional.empty();
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<ReportResponse>> calls = new ArrayList<>();
+            calls.add(executor.submit(() -> reportService.getReportById(999L)));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 3; i++) {
+                calls.add(executor.submit(() -> reportService.getReportById(999L)));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (meterRegistry.counter("reports.singleflight.requests",
+                    "operation", "report", "outcome", "coalesced").count() < 3) {
+                assertTrue(System.nanoTime() < deadline);
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<ReportResponse> call : calls) {
+                ExecutionException failure = assertThrows(ExecutionException.class, () -> call.get(5, TimeUnit.SECONDS));
+                assertInstanceOf(IllegalArgumentException.class, failure.getCause());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(reportRepository, times(1)).findById(999L);
+    }
+
+    @Test
+    void testUpdateReportInvalidatesCache() {
+        Report report = Report.builder()
+                .id(1L)
+                .userId(1L)
+                .title("Original Title")
+                .build();
+
+        when(reportRepository.findById(1L)).thenReturn(Optional.of(report));
+        when(reportRepository.updateIfVersion(any(Report.class))).thenAnswer(invocation -> {
+            report.setTitle(invocation.<Report>getArgument(0).getTitle());
+            return true;
+        });
+
+        reportService.getReportById(1L);
+        reportService.updateReport(1L, UpdateReportRequest.builder().title("Updated Title").build(), 1L);
+        ReportResponse response = reportService.getReportById(1L);
+
+        assertEquals("Updated Title", response.getTitle());
+        verify(eventPublisher).publishReportInvalidated(1L);
+    }
+
     @Test
     void testGetReportByIdNotFound() {
         when(reportRepository.findById(999L)).thenReturn(Optional.empty());
@@ -206,18 +562,8 @@ class ReportServiceTest {
                 .priority("HIGH")
                 .build();
 
-        Report updatedReport = Report.builder()
-                .id(1L)
-                .userId(1L)
-                .title("Updated Title")
-                .description("Updated Description")
-                .category("INFRASTRUCTURE")
-                .priority("HIGH")
-                .status("IN_PROGRESS")
-                .build();
-
         when(reportRepository.findById(1L)).thenReturn(Optional.of(existingReport));
-        when(reportRepository.save(any(Report.class))).thenReturn(updatedReport);
+        when(reportRepository.updateIfVersion(any(Report.class))).thenReturn(true);
 
         ReportResponse response = reportService.updateReport(1L, request, 1L);
 
@@ -226,11 +572,86 @@ class ReportServiceTest {
         assertEquals("Updated Description", response.getDescription());
         assertEquals("IN_PROGRESS", response.getStatus());
         assertEquals("HIGH", response.getPriority());
+        assertEquals("INFRASTRUCTURE", response.getCategory());
         verify(reportRepository).findById(1L);
-        verify(reportRepository).save(any(Report.class));
+        verify(reportRepository).updateIfVersion(argThat(report ->
+                "Updated Title".equals(report.getTitle()) && "INFRASTRUCTURE".equals(report.getCategory())));
+        verify(reportRepository, never()).save(any());
         verify(auditEventPublisher).publishAudit(eq("report.update"), any());
     }
 
+    @Test
+    void testUpdateReportOfCachedReportIsASingleConditionalUpdate() {
+        Report report = Report.builder()
+                .id(1L)
+                .userId(1L)
+                .title("Original Title")
+                .version(4L)
+                .build();
+        when(reportRepository.findById(1L)).thenReturn(Optional.of(report));
+        when(reportRepository.updateIfVersion(any(Report.class))).thenReturn(true);
+
+        reportService.getReportById(1L);
+        reportService.updateReport(1L, UpdateReportRequest.builder().status("CLOSED").build(), 1L, 4L);
+
+        verify(reportRepository, times(1)).findById(1L);
+        verify(reportRepository).updateIfVersion(argThat(updated -> updated.getVersion() == 4L));
+    }
+
+    @Test
+    void testUpdateReportWithStaleIfMatchFails() {
+        Report report = Report.builder()
+                .id(1L)
+                .userId(1L)
+                .title("Original Title")
+                .version(3L)
+                .build();
+        when(reportRepository.findById(1L)).thenReturn(Optional.of(report));
+        when(reportRepository.findCurrentById(1L)).thenReturn(Optional.of(report));
+
+        UpdateReportRequest request = UpdateReportRequest.builder().title("Updated Title").build();
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> reportService.updateReport(1L, request, 1L, 2L));
+
+        verify(reportRepository, never()).updateIfVersion(any());
+        verifyNoInteractions(auditEventPublisher);
+    }
+
+    @Test
+    void testUpdateReportRereadsOnceWhenCachedCopyIsStale() {
+        Report cached = Report.builder().id(1L).userId(1L).title("Title").status("OPEN").version(1L).build();
+        Report current = Report.builder().id(1L).userId(1L).title("Title").status("IN_PROGRESS").version(2L).build();
+        when(reportRepository.findById(1L)).thenReturn(Optional.of(cached));
+        when(reportRepository.findCurrentById(1L)).thenReturn(Optional.of(current));
+        when(reportRepository.updateIfVersion(any(Report.class)))
+                .thenAnswer(invocation -> invocation.<Report>getArgument(0).getVersion() == 2L);
+
+        reportService.getReportById(1L);
+        ReportResponse response = reportService.updateReport(1L,
+                UpdateReportRequest.builder().priority("HIGH").build(), 1L);
+
+        assertEquals("IN_PROGRESS", response.getStatus());
+        assertEquals("HIGH", response.getPriority());
+        verify(reportRepository, times(2)).updateIfVersion(any(Report.class));
+        // The retry must not trust an entity already in the persistence context
+        verify(reportRepository, times(1)).findById(1L);
+        verify(reportRepository).findCurrentById(1L);
+    }
+
+    @Test
+    void testUpdateReportConflictsWhenRowKeepsChanging() {
+        Report report = Report.builder().id(1L).userId(1L).title("Title").version(1L).build();
+        when(reportRepository.findById(1L)).thenReturn(Optional.of(report));
+        when(reportRepository.findCurrentById(1L)).thenReturn(Optional.of(report));
+        when(reportRepository.updateIfVersion(any(Report.class))).thenReturn(false);
+
+        UpdateReportRequest request = UpdateReportRequest.builder().title("Updated Title").build();
+        assertThrows(OptimisticLockingFailureException.class, () -> reportService.updateReport(1L, request, 1L));
+
+        verify(reportRepository, times(2)).updateIfVersion(any(Report.class));
+        verifyNoInteractions(auditEventPublisher);
+    }
+
     @Test
     void testUpdateReportUnauthorized() {
         Report existingReport = Report.builder()
@@ -248,6 +669,7 @@ class ReportServiceTest {
         assertThrows(SecurityException.class, () -> reportService.updateReport(1L, request, 2L));
         verify(reportRepository).findById(1L);
         verify(reportRepository, never()).save(any());
+        verify(reportRepository, never()).updateIfVersion(any());
     }
 
     @Test
@@ -261,6 +683,7 @@ class ReportServiceTest {
         assertThrows(IllegalArgumentException.class, () -> reportService.updateReport(999L, request, 1L));
         verify(reportRepository).findById(999L);
         verify(reportRepository, never()).save(any());
+        verify(reportRepository, never()).updateIfVersion(any());
     }
 
     @Test
@@ -280,6 +703,21 @@ class ReportServiceTest {
         verify(auditEventPublisher).publishAudit(eq("report.delete"), any());
     }
 
+    @Test
+    void testDeleteReportFailsWhenAuditCannotBeQueued() {
+        Report report = Report.builder()
+                .id(1L)
+                .userId(1L)
+                .title("Report to Delete")
+                .build();
+
+        when(reportRepository.findById(1L)).thenReturn(Optional.of(report));
+        doThrow(new DataAccessResourceFailureException("outbox insert failed"))
+                .when(auditEventPublisher).publishAudit(eq("report.delete"), any());
+
+        assertThrows(DataAccessResourceFailureException.class, () -> reportService.deleteReport(1L, 1L));
+    }
+
     @Test
     void testDeleteReportUnauthorized() {
         Report report = Report.builder()
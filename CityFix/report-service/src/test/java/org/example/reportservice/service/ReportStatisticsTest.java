@@ -0,0 +1,145 @@
+package org.example.reportservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.reportservice.dto.ReportStatsResponse;
+import org.example.reportservice.entity.Report;
+import org.example.reportservice.repository.ReportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportStatisticsTest {
+
+    @Mock
+    private ReportRepository reportRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReportStatistics statistics;
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        statistics = new ReportStatistics(reportRepository, meterRegistry);
+    }
+
+    @Test
+    void firstReadLoadsCountsFromDatabase() {
+        when(reportRepository.countByDimensions()).thenReturn(rows(
+                row(0b0111, "OPEN", null, null, null, 3),
+                row(0b0111, "RESOLVED", null, null, null, 1),
+                row(0b1011, null, "ROADS", null, null, 2),
+                row(0b1011, null, null, null, null, 2),
+                row(0b1101, null, null, "HIGH", null, 4),
+                row(0b1110, null, null, null, Date.valueOf(today), 4)));
+
+        ReportStatsResponse stats = statistics.getStats(7);
+
+        assertEquals(4, stats.getTotal());
+        assertEquals(3L, stats.getByStatus().get("OPEN"));
+        assertEquals(1L, stats.getByStatus().get("RESOLVED"));
+        assertEquals(2L, stats.getByCategory().get(ReportStatistics.UNKNOWN));
+        assertEquals(4L, stats.getByPriority().get("HIGH"));
+        assertEquals(7, stats.getCreatedPerDay().size());
+        assertEquals(4L, stats.getCreatedPerDay().get(today.toString()));
+        assertEquals(0L, stats.getCreatedPerDay().get(today.minusDays(6).toString()));
+        assertNotNull(stats.getReconciledAt());
+
+        statistics.getStats(7);
+        verify(reportRepository, times(1)).countByDimensions();
+    }
+
+    @Test
+    void writesAdjustCountersWithoutQuerying() {
+        when(reportRepository.countByDimensions()).thenReturn(rows());
+        statistics.reconcileOnce();
+
+        Report report = report("OPEN", "ROADS", "HIGH");
+        statistics.recordCreated(report);
+        statistics.recordCreated(report("OPEN", "LIGHTING", "LOW"));
+
+        ReportStatistics.Dimensions before = ReportStatistics.Dimensions.of(report);
+        report.setStatus("RESOLVED");
+        statistics.recordUpdated(before, report);
+
+        statistics.recordDeleted(ReportStatistics.Dimensions.of(report("OPEN", "LIGHTING", "LOW")));
+
+        ReportStatsResponse stats = statistics.getStats(1);
+        assertEquals(1, stats.getTotal());
+        assertEquals(1L, stats.getByStatus().get("RESOLVED"));
+        assertFalse(stats.getByStatus().containsKey("OPEN"));
+        assertEquals(1L, stats.getByCategory().get("ROADS"));
+        assertEquals(1L, stats.getCreatedPerDay().get(today.toString()));
+        verify(reportRepository, times(1)).countByDimensions();
+    }
+
+    @Test
+    void reconciliationReplacesDriftedCounters() {
+        when(reportRepository.countByDimensions())
+                .thenReturn(rows(row(0b0111, "OPEN", null, null, null, 5),
+                        row(0b1101, null, null, "MEDIUM", null, 5)))
+                .thenReturn(rows(row(0b0111, "OPEN", null, null, null, 2),
+                        row(0b1101, null, null, "MEDIUM", null, 2)));
+
+        statistics.reconcileOnce();
+        statistics.reconcileOnce();
+
+        ReportStatsResponse stats = statistics.getStats(null);
+        assertEquals(2, stats.getTotal());
+        assertEquals(2L, stats.getByStatus().get("OPEN"));
+        assertEquals(30, stats.getCreatedPerDay().size());
+        // total, status and priority were each 3 off
+        assertEquals(9.0, meterRegistry.get("reports.stats.drift").counter().count());
+    }
+
+    @Test
+    void writesDuringReconciliationAreKept() {
+        when(reportRepository.countByDimensions()).thenAnswer(invocation -> {
+            // Committed after the query snapshot, so not part of the rows below
+            statistics.recordCreated(report("OPEN", "ROADS", "HIGH"));
+            return rows(row(0b0111, "OPEN", null, null, null, 1),
+                    row(0b1101, null, null, "HIGH", null, 1));
+        });
+
+        statistics.reconcileOnce();
+
+        ReportStatsResponse stats = statistics.getStats(1);
+        assertEquals(2, stats.getTotal());
+        assertEquals(2L, stats.getByStatus().get("OPEN"));
+    }
+
+    @Test
+    void rejectsTooManyDays() {
+        when(reportRepository.countByDimensions()).thenReturn(rows());
+
+        assertThrows(IllegalArgumentException.class, () -> statistics.getStats(10_000));
+    }
+
+    private static Report report(String status, String category, String priority) {
+        return Report.builder()
+                .status(status)
+                .category(category)
+                .priority(priority)
+                .createdAt(LocalDate.now().atTime(12, 0))
+                .build();
+    }
+
+    private static Object[] row(int grouping, String status, String category, String priority, Date day, long count) {
+        return new Object[]{grouping, status, category, priority, day, count};
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return new ArrayList<>(List.of(rows));
+    }
+}
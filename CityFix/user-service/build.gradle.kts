@@ -13,6 +13,9 @@ repositories {
 }
 
 dependencies {
+    // Shared virtual-thread support (CityFix/common)
+    implementation("org.example:common:1.0-SNAPSHOT")
+
     // Spring Boot
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
@@ -38,6 +41,9 @@ dependencies {
     // BCrypt
     implementation("org.springframework.security:spring-security-crypto")
 
+    // In-process caching
+    implementation("com.github.ben-manes.caffeine:caffeine")
+
     // Lombok
     compileOnly("org.projectlombok:lombok")
     annotationProcessor("org.projectlombok:lombok")
@@ -46,6 +52,8 @@ dependencies {
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testImplementation("org.mockito:mockito-core:5.2.0")
     testImplementation("org.mockito:mockito-junit-jupiter:5.2.0")
+    // Embedded database for the @DataJpaTest repository tests
+    testRuntimeOnly("com.h2database:h2")
 }
 
 tasks.named<org.springframework.boot.gradle.tasks.bundling.BootJar>("bootJar") {
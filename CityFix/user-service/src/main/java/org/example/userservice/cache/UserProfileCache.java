@@ -0,0 +1,73 @@
+package org.example.userservice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.example.userservice.dto.UserResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Per-instance cache of the /users/me profile keyed by the user id from the JWT.
+ * Writes on this instance evict their entries; the TTL bounds how long another
+ * replica can serve a stale profile. Published as the "users" cache in Micrometer.
+ */
+@Slf4j
+@Component
+public class UserProfileCache {
+    public static final String CACHE_NAME = "users";
+
+    private final Cache<Long, UserResponse> cache;
+
+    @Autowired
+    public UserProfileCache(MeterRegistry meterRegistry,
+                            @Value("${users.cache.max-size:10000}") long maxSize,
+                            @Value("${users.cache.ttl:60s}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public UserResponse get(Long userId, Function<Long, UserResponse> loader) {
+        return cache.get(userId, loader);
+    }
+
+    public void invalidate(Long userId) {
+        invalidateAll(List.of(userId));
+    }
+
+    /**
+     * Drops the entries now and again once the surrounding transaction commits, so a
+     * concurrent reader cannot re-cache the pre-commit row.
+     */
+    public void invalidateAll(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(userIds);
+        cache.invalidateAll(ids);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidateAll(ids);
+                }
+            });
+        }
+        log.debug("Evicted {} user profile(s) from cache", ids.size());
+    }
+}
@@ -5,11 +5,13 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.springframework.amqp.core.*;
 import org.springframework.amqp.rabbit.annotation.EnableRabbit;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -29,6 +31,12 @@ public class RabbitMQConfig {
     @Value("${rabbitmq.routing-key.report-created:report.created}")
     private String reportCreatedRoutingKey;
 
+    @Value("${users.reports-counter.batch-size:50}")
+    private int counterBatchSize;
+
+    @Value("${users.reports-counter.max-wait-ms:200}")
+    private long counterMaxWaitMs;
+
     @Bean
     public Queue userCounterQueue() {
         return new Queue(userCounterQueue, true);
@@ -66,4 +74,24 @@ public class RabbitMQConfig {
         rabbitTemplate.setMessageConverter(messageConverter());
         return rabbitTemplate;
     }
+
+    /**
+     * Delivers up to batch-size ReportCreatedEvents per listener call so counters can be
+     * aggregated per user. Messages are acked after the listener (and its transaction) returns.
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory reportCounterContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setMessageConverter(messageConverter());
+        factory.setAcknowledgeMode(AcknowledgeMode.AUTO);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(counterBatchSize);
+        factory.setPrefetchCount(counterBatchSize);
+        factory.setReceiveTimeout(counterMaxWaitMs);
+        return factory;
+    }
 }
@@ -5,6 +5,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.example.userservice.dto.*;
+import org.example.userservice.security.JwtPrincipal;
 import org.example.userservice.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -98,9 +99,10 @@ public class UserController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        // Get authenticated username
-        String authenticatedUsername = authentication.getName();
-        UserResponse currentUser = userService.getUserByUsername(authenticatedUsername);
+        Long userId = currentUserId(authentication);
+        UserResponse currentUser = userId != null
+                ? userService.getCurrentUser(userId)
+                : userService.getUserByUsername(authentication.getName());
 
         return ResponseEntity.ok(currentUser);
     }
@@ -117,12 +119,14 @@ public class UserController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        // Get authenticated username
         String authenticatedUsername = authentication.getName();
-        UserResponse currentUser = userService.getUserByUsername(authenticatedUsername);
+        Long userId = currentUserId(authentication);
+        if (userId == null) {
+            userId = userService.getUserByUsername(authenticatedUsername).getId();
+        }
 
         try {
-            UserResponse response = userService.updateUser(currentUser.getId(), request);
+            UserResponse response = userService.updateUser(userId, request);
             log.info("User {} successfully updated profile", authenticatedUsername);
             return ResponseEntity.ok(response);
         } catch (IllegalArgumentException e) {
@@ -136,6 +140,16 @@ public class UserController {
         return ResponseEntity.ok("User Service is running");
     }
 
+    /**
+     * Id użytkownika z tokenu JWT (null dla tokenów bez claimu userId)
+     */
+    private Long currentUserId(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof JwtPrincipal principal) {
+            return principal.getUserId();
+        }
+        return null;
+    }
+
     /**
      * Ustawia JWT token w HTTP Cookie z bezpiecznymi flagami
      */
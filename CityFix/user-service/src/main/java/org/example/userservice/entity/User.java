@@ -37,7 +37,9 @@ public class User {
     @Column
     private String phone;
 
-    @Column(name = "reports_count")
+    // Written only by ReportCounterRepository's atomic increments; saving a loaded user
+    // must not write back a stale count
+    @Column(name = "reports_count", insertable = false, updatable = false)
     @Builder.Default
     private Integer reportsCount = 0;
 
@@ -0,0 +1,16 @@
+package org.example.userservice.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when the password hashing executor cannot take more work; mapped to 503 with Retry-After.
+ */
+@Getter
+public class PasswordHashingBusyException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public PasswordHashingBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
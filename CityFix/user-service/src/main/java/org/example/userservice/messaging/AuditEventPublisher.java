@@ -1,33 +1,316 @@
 package org.example.userservice.messaging;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.example.userservice.event.AuditEvent;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
 import org.springframework.stereotype.Component;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes audit events off the request thread. {@link #publishAudit} only puts the event
+ * into a bounded buffer; a single sender thread drains it in batches over one channel and
+ * waits for publisher confirms once per batch. When the buffer is full the configured
+ * {@link OverflowPolicy} applies.
+ */
 @Slf4j
 @Component
-public class AuditEventPublisher {
+public class AuditEventPublisher implements SmartLifecycle {
+
+    public enum OverflowPolicy {
+        /** Evict the oldest buffered event to make room. */
+        DROP_OLDEST,
+        /** Wait up to block-timeout-ms for room, then drop the new event. */
+        BLOCK,
+        /** Append the event to the local spill file; it is replayed once the buffer is idle. */
+        SPILL
+    }
+
+    record QueuedAudit(String routingKey, AuditEvent event) {
+    }
+
+    private static final long MAX_BACKOFF_MS = 5000;
+
     private final RabbitTemplate rabbitTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final BlockingQueue<QueuedAudit> buffer;
+    private final OverflowPolicy overflowPolicy;
+    private final Path spillFile;
+    private final Object spillLock = new Object();
+
+    private final Counter publishedCounter;
+    private final Counter failuresCounter;
+    private final Counter spilledCounter;
+    private final Timer confirmTimer;
 
     @Value("${rabbitmq.exchange.audit:cityfix.audit}")
-    private String auditExchange;
+    private String auditExchange = "cityfix.audit";
+
+    @Value("${audit.publisher.batch-size:100}")
+    private int batchSize = 100;
+
+    @Value("${audit.publisher.max-wait-ms:50}")
+    private long maxWaitMs = 50;
+
+    @Value("${audit.publisher.confirm-timeout-ms:5000}")
+    private long confirmTimeoutMs = 5000;
+
+    @Value("${audit.publisher.block-timeout-ms:100}")
+    private long blockTimeoutMs = 100;
+
+    private volatile boolean running;
+    private Thread sender;
 
     @Autowired
-    public AuditEventPublisher(RabbitTemplate rabbitTemplate) {
+    public AuditEventPublisher(RabbitTemplate rabbitTemplate,
+                               ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry,
+                               @Value("${audit.publisher.buffer-size:10000}") int bufferSize,
+                               @Value("${audit.publisher.overflow-policy:drop-oldest}") String overflowPolicy,
+                               @Value("${audit.publisher.spill-file:/tmp/cityfix-audit-spill.ndjson}") String spillFile) {
         this.rabbitTemplate = rabbitTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.overflowPolicy = OverflowPolicy.valueOf(overflowPolicy.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+        this.spillFile = Path.of(spillFile);
+
+        meterRegistry.gauge("audit.publisher.queue.depth", buffer, BlockingQueue::size);
+        this.publishedCounter = Counter.builder("audit.publisher.published")
+                .description("Audit events confirmed by the broker")
+                .register(meterRegistry);
+        this.failuresCounter = Counter.builder("audit.publisher.failures")
+                .description("Audit batches that failed to publish and were retried")
+                .register(meterRegistry);
+        this.spilledCounter = Counter.builder("audit.publisher.spilled")
+                .description("Audit events written to the local spill file")
+                .register(meterRegistry);
+        this.confirmTimer = Timer.builder("audit.publisher.confirm.latency")
+                .description("Time to publish one batch and receive its confirms")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
     public void publishAudit(String action, AuditEvent event) {
+        QueuedAudit item = new QueuedAudit("audit." + action, event);
+        log.debug("Queueing AuditEvent: {} for user {}", action, event.getUsername());
+        if (buffer.offer(item)) {
+            return;
+        }
+
+        switch (overflowPolicy) {
+            case DROP_OLDEST -> {
+                while (!buffer.offer(item)) {
+                    if (buffer.poll() != null) {
+                        dropped("overflow", 1);
+                    }
+                }
+            }
+            case BLOCK -> {
+                try {
+                    if (!buffer.offer(item, blockTimeoutMs, TimeUnit.MILLISECONDS)) {
+                        dropped("timeout", 1);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    dropped("interrupted", 1);
+                }
+            }
+            case SPILL -> spill(List.of(item));
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        sender = new Thread(this::runSender, "audit-publisher");
+        sender.setDaemon(true);
+        sender.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (sender == null) {
+            return;
+        }
         try {
-            String routingKey = "audit." + action;
-            log.info("Publishing AuditEvent: {} for user {}", action, event.getUsername());
-            rabbitTemplate.convertAndSend(auditExchange, routingKey, event);
-        } catch (Exception e) {
-            log.error("Failed to publish AuditEvent: {}", e.getMessage(), e);
+            sender.join(confirmTimeoutMs + maxWaitMs + 1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (sender.isAlive()) {
+            sender.interrupt();
         }
     }
-}
 
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void runSender() {
+        List<QueuedAudit> batch = new ArrayList<>(batchSize);
+        long backoffMs = 100;
+        while (running) {
+            try {
+                if (batch.isEmpty()) {
+                    QueuedAudit first = buffer.poll(maxWaitMs, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        replaySpill();
+                        continue;
+                    }
+                    batch.add(first);
+                    buffer.drainTo(batch, batchSize - 1);
+                }
+                send(batch);
+                batch.clear();
+                backoffMs = 100;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                // Keep the batch and retry; new events meanwhile hit the overflow policy
+                failuresCounter.increment();
+                log.warn("Failed to publish {} audit event(s), retrying in {} ms: {}",
+                        batch.size(), backoffMs, e.getMessage());
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+            }
+        }
+
+        buffer.drainTo(batch);
+        if (!batch.isEmpty()) {
+            try {
+                send(batch);
+            } catch (Exception e) {
+                handleUndelivered(batch, e);
+            }
+        }
+    }
+
+    /**
+     * Sends everything currently buffered on the calling thread.
+     */
+    void flush() {
+        List<QueuedAudit> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            send(batch);
+            batch.clear();
+        }
+    }
+
+    private void send(List<QueuedAudit> batch) {
+        long start = System.nanoTime();
+        rabbitTemplate.invoke(operations -> {
+            for (QueuedAudit item : batch) {
+                operations.convertAndSend(auditExchange, item.routingKey(), item.event());
+            }
+            operations.waitForConfirmsOrDie(confirmTimeoutMs);
+            return null;
+        });
+        confirmTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        publishedCounter.increment(batch.size());
+        log.debug("Published {} audit event(s)", batch.size());
+    }
+
+    private void handleUndelivered(List<QueuedAudit> batch, Exception cause) {
+        if (overflowPolicy == OverflowPolicy.SPILL) {
+            spill(batch);
+        } else {
+            dropped("shutdown", batch.size());
+            log.error("Dropping {} audit event(s) on shutdown: {}", batch.size(), cause.getMessage());
+        }
+    }
+
+    private void spill(List<QueuedAudit> items) {
+        synchronized (spillLock) {
+            try (BufferedWriter writer = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (QueuedAudit item : items) {
+                    writer.write(objectMapper.writeValueAsString(item));
+                    writer.newLine();
+                }
+                spilledCounter.increment(items.size());
+            } catch (IOException e) {
+                dropped("spill-error", items.size());
+                log.error("Failed to spill {} audit event(s) to {}: {}", items.size(), spillFile, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Resends spilled events while the buffer is idle. The file is renamed first so new
+     * spills go to a fresh file; on failure the renamed file is retried as a whole, so
+     * delivery from the spill file is at-least-once.
+     */
+    void replaySpill() throws IOException {
+        Path replayFile = spillFile.resolveSibling(spillFile.getFileName() + ".replay");
+        synchronized (spillLock) {
+            if (!Files.exists(replayFile)) {
+                if (!Files.exists(spillFile)) {
+                    return;
+                }
+                Files.move(spillFile, replayFile);
+            }
+        }
+
+        long replayed = 0;
+        List<QueuedAudit> batch = new ArrayList<>(batchSize);
+        try (BufferedReader reader = Files.newBufferedReader(replayFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    batch.add(objectMapper.readValue(line, QueuedAudit.class));
+                } catch (IOException e) {
+                    dropped("spill-corrupt", 1);
+                    log.warn("Skipping unreadable spilled audit event: {}", e.getMessage());
+                    continue;
+                }
+                if (batch.size() == batchSize) {
+                    send(batch);
+                    replayed += batch.size();
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            send(batch);
+            replayed += batch.size();
+        }
+        Files.delete(replayFile);
+        log.info("Replayed {} spilled audit event(s)", replayed);
+    }
+
+    private void dropped(String reason, int count) {
+        meterRegistry.counter("audit.publisher.dropped", "reason", reason).increment(count);
+    }
+}
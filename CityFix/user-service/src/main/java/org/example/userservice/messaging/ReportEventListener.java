@@ -1,61 +1,34 @@
 package org.example.userservice.messaging;
 
 import lombok.extern.slf4j.Slf4j;
-import org.example.userservice.entity.User;
 import org.example.userservice.event.ReportCreatedEvent;
-import org.example.userservice.repository.UserRepository;
+import org.example.userservice.service.ReportCounterService;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
+import java.util.List;
 
 @Slf4j
 @Component
 public class ReportEventListener {
-    private final UserRepository userRepository;
+    private final ReportCounterService reportCounterService;
 
     @Autowired
-    public ReportEventListener(UserRepository userRepository) {
-        this.userRepository = userRepository;
+    public ReportEventListener(ReportCounterService reportCounterService) {
+        this.reportCounterService = reportCounterService;
     }
 
-    @RabbitListener(queues = "${rabbitmq.queue.user-counter:user.reports.counter.queue}")
-    @Transactional
-    public void handleReportCreated(
-            ReportCreatedEvent event,
-            @Header(value = "amqp_messageId", required = false) String messageId) {
-
-        log.info("Received ReportCreatedEvent for user counter: userId={}, reportId={}, messageId={}",
-                event.getUserId(), event.getReportId(), messageId);
+    @RabbitListener(queues = "${rabbitmq.queue.user-counter:user.reports.counter.queue}",
+            containerFactory = "reportCounterContainerFactory")
+    public void handleReportsCreated(List<ReportCreatedEvent> events) {
+        log.info("Received batch of {} ReportCreatedEvents for user counter", events.size());
 
         try {
-            Optional<User> userOpt = userRepository.findById(event.getUserId());
-
-            if (userOpt.isEmpty()) {
-                log.warn("User not found with id={}, cannot update counter", event.getUserId());
-                return;
-            }
-
-            User user = userOpt.get();
-            Integer currentCount = user.getReportsCount();
-            if (currentCount == null) {
-                currentCount = 0;
-            }
-
-            user.setReportsCount(currentCount + 1);
-            userRepository.save(user);
-
-            log.info("Updated reports counter for userId={}: {} -> {}",
-                    event.getUserId(), currentCount, currentCount + 1);
-
+            reportCounterService.applyReportsCreated(events);
         } catch (Exception e) {
-            log.error("Failed to update reports counter for userId={}: {}",
-                    event.getUserId(), e.getMessage(), e);
+            log.error("Failed to update reports counters for batch of {}: {}", events.size(), e.getMessage(), e);
             throw e; // Rzuć wyjątek aby RabbitMQ mógł zrobić retry
         }
     }
 }
-
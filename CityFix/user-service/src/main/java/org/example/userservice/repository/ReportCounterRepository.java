@@ -0,0 +1,85 @@
+package org.example.userservice.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Plain-SQL access for the users.reports_count counter and the
+ * processed_report_events idempotency table.
+ */
+@Repository
+public class ReportCounterRepository {
+    private static final String MARK_PROCESSED_SQL =
+            "INSERT INTO processed_report_events (report_id) " +
+            "SELECT unnest(?::bigint[]) " +
+            "ON CONFLICT (report_id) DO NOTHING " +
+            "RETURNING report_id";
+
+    private static final String INCREMENT_SQL =
+            "UPDATE users SET reports_count = COALESCE(reports_count, 0) + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ReportCounterRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Records the report ids as processed and returns only those that were not seen before.
+     */
+    public Set<Long> markProcessed(Collection<Long> reportIds) {
+        if (reportIds.isEmpty()) {
+            return Set.of();
+        }
+        List<Long> inserted = jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(MARK_PROCESSED_SQL);
+            ps.setArray(1, con.createArrayOf("bigint", reportIds.toArray()));
+            return ps;
+        }, (rs, rowNum) -> rs.getLong(1));
+        return new HashSet<>(inserted);
+    }
+
+    /**
+     * Applies one atomic increment per user in a single JDBC batch. Users are updated
+     * in id order so concurrent consumers lock rows in the same order.
+     *
+     * @return ids of users that do not exist
+     */
+    public List<Long> incrementReportsCounts(Map<Long, Integer> deltasByUserId) {
+        if (deltasByUserId.isEmpty()) {
+            return List.of();
+        }
+        List<Long> userIds = new ArrayList<>(deltasByUserId.keySet());
+        userIds.sort(null);
+
+        int[] counts = jdbcTemplate.batchUpdate(INCREMENT_SQL, userIds, userIds.size(), (ps, userId) -> {
+            ps.setInt(1, deltasByUserId.get(userId));
+            ps.setLong(2, userId);
+        })[0];
+
+        List<Long> missing = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                missing.add(userIds.get(i));
+            }
+        }
+        return missing;
+    }
+
+    public int deleteProcessedBefore(LocalDateTime cutoff) {
+        return jdbcTemplate.update("DELETE FROM processed_report_events WHERE processed_at < ?",
+                Timestamp.valueOf(cutoff));
+    }
+}
@@ -15,6 +15,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Optional;
 
 @Slf4j
 @Component
@@ -56,12 +57,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         // Walidacja i ustawienie autentykacji
-        if (token != null && jwtTokenProvider.validateToken(token)) {
-            String username = jwtTokenProvider.getUsernameFromToken(token);
+        Optional<JwtPrincipal> principal = token != null ? jwtTokenProvider.verify(token) : Optional.empty();
+        if (principal.isPresent()) {
             UsernamePasswordAuthenticationToken authentication =
-                    new UsernamePasswordAuthenticationToken(username, null, new ArrayList<>());
+                    new UsernamePasswordAuthenticationToken(principal.get(), null, new ArrayList<>());
             SecurityContextHolder.getContext().setAuthentication(authentication);
-            log.debug("JWT token validated for user: {}", username);
+            log.debug("JWT token validated for user: {}", principal.get().getUsername());
         } else if (token != null) {
             log.warn("JWT token validation failed");
         }
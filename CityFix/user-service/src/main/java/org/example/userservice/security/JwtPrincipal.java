@@ -0,0 +1,27 @@
+package org.example.userservice.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.security.Principal;
+import java.time.Instant;
+
+/**
+ * Identity carried by a signature-verified JWT.
+ */
+@Getter
+@AllArgsConstructor
+public class JwtPrincipal implements Principal {
+    private final Long userId;
+    private final String username;
+    private final Instant expiresAt;
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    public boolean isExpired() {
+        return expiresAt != null && !Instant.now().isBefore(expiresAt);
+    }
+}
@@ -0,0 +1,151 @@
+package org.example.userservice.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.example.userservice.exception.PasswordHashingBusyException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs BCrypt on a dedicated executor sized to the CPU count with a bounded queue, so a
+ * burst of logins cannot take every core away from cheap endpoints. When the queue is
+ * full (or the wait exceeds max-wait) callers get {@link PasswordHashingBusyException}
+ * instead of piling up on request threads.
+ */
+@Slf4j
+@Component
+public class PasswordHasher implements DisposableBean {
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+
+    private final ThreadPoolExecutor executor;
+    private final BCryptPasswordEncoder encoder;
+    private final MeterRegistry meterRegistry;
+    private final int strength;
+    private final Duration maxWait;
+    private final long retryAfterSeconds;
+
+    @Autowired
+    public PasswordHasher(MeterRegistry meterRegistry,
+                          @Value("${security.password.bcrypt-strength:10}") int strength,
+                          @Value("${security.password.hashing.threads:0}") int threads,
+                          @Value("${security.password.hashing.queue-capacity:64}") int queueCapacity,
+                          @Value("${security.password.hashing.max-wait:2s}") Duration maxWait,
+                          @Value("${security.password.hashing.retry-after:1s}") Duration retryAfter) {
+        this(meterRegistry, newExecutor(threads > 0 ? threads : Runtime.getRuntime().availableProcessors(),
+                queueCapacity), strength, maxWait, retryAfter);
+    }
+
+    PasswordHasher(MeterRegistry meterRegistry, ThreadPoolExecutor executor, int strength,
+                   Duration maxWait, Duration retryAfter) {
+        this.meterRegistry = meterRegistry;
+        this.executor = executor;
+        this.encoder = new BCryptPasswordEncoder(strength);
+        this.strength = strength;
+        this.maxWait = maxWait;
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+
+        meterRegistry.gauge("password.hashing.queue.depth", executor, e -> e.getQueue().size());
+        meterRegistry.gauge("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount);
+    }
+
+    private static ThreadPoolExecutor newExecutor(int threads, int queueCapacity) {
+        AtomicInteger sequence = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return run("encode", () -> encoder.encode(rawPassword));
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run("verify", () -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * True when the hash was made with a different cost factor than the configured one,
+     * in either direction, so lowering the strength is rolled out on login as well.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        Integer cost = costOf(encodedPassword);
+        return cost != null && cost != strength;
+    }
+
+    static Integer costOf(String encodedPassword) {
+        if (encodedPassword == null) {
+            return null;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() ? Integer.valueOf(matcher.group(1)) : null;
+    }
+
+    private <T> T run(String operation, Callable<T> task) {
+        long start = System.nanoTime();
+        String outcome = "error";
+        Future<T> future = null;
+        try {
+            future = executor.submit(task);
+            T result = future.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+            outcome = Boolean.FALSE.equals(result) ? "mismatch" : "success";
+            return result;
+        } catch (RejectedExecutionException e) {
+            outcome = "rejected";
+            log.warn("Password hashing queue full ({} waiting), rejecting {}", executor.getQueue().size(), operation);
+            throw busy();
+        } catch (TimeoutException e) {
+            outcome = "timeout";
+            future.cancel(true);
+            log.warn("Password {} did not complete within {} ms", operation, maxWait.toMillis());
+            throw busy();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        } finally {
+            Timer.builder("password.hashing.duration")
+                    .description("Time from submitting a BCrypt operation to its result, queueing included")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private PasswordHashingBusyException busy() {
+        return new PasswordHashingBusyException("Too many concurrent sign-ins, try again shortly", retryAfterSeconds);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.userservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.userservice.cache.UserProfileCache;
+import org.example.userservice.event.ReportCreatedEvent;
+import org.example.userservice.repository.ReportCounterRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Slf4j
+@Service
+public class ReportCounterService {
+    private final ReportCounterRepository reportCounterRepository;
+    private final UserProfileCache userProfileCache;
+
+    @Value("${users.reports-counter.processed-retention:7d}")
+    private Duration processedRetention = Duration.ofDays(7);
+
+    @Autowired
+    public ReportCounterService(ReportCounterRepository reportCounterRepository,
+                                UserProfileCache userProfileCache) {
+        this.reportCounterRepository = reportCounterRepository;
+        this.userProfileCache = userProfileCache;
+    }
+
+    /**
+     * Applies a batch of ReportCreatedEvents: drops report ids that were already counted
+     * (redeliveries), sums the rest per user and issues one increment per user.
+     *
+     * @return number of events that changed a counter
+     */
+    @Transactional
+    public int applyReportsCreated(List<ReportCreatedEvent> events) {
+        Map<Long, Long> userIdByReportId = new LinkedHashMap<>();
+        for (ReportCreatedEvent event : events) {
+            if (event.getReportId() == null || event.getUserId() == null) {
+                log.warn("Skipping ReportCreatedEvent without reportId/userId: {}", event);
+                continue;
+            }
+            userIdByReportId.putIfAbsent(event.getReportId(), event.getUserId());
+        }
+
+        Set<Long> fresh = reportCounterRepository.markProcessed(userIdByReportId.keySet());
+        if (fresh.size() < userIdByReportId.size()) {
+            log.info("Ignoring {} already counted report(s)", userIdByReportId.size() - fresh.size());
+        }
+
+        Map<Long, Integer> deltasByUserId = new HashMap<>();
+        for (Long reportId : fresh) {
+            deltasByUserId.merge(userIdByReportId.get(reportId), 1, Integer::sum);
+        }
+
+        List<Long> missingUsers = reportCounterRepository.incrementReportsCounts(deltasByUserId);
+        // reportsCount is part of the cached /users/me profile
+        userProfileCache.invalidateAll(deltasByUserId.keySet());
+        if (!missingUsers.isEmpty()) {
+            log.warn("Users not found, cannot update counter: {}", missingUsers);
+        }
+
+        log.info("Updated reports counters for {} user(s) from {} event(s)", deltasByUserId.size(), fresh.size());
+        return fresh.size();
+    }
+
+    @Scheduled(fixedDelayString = "${users.reports-counter.cleanup-interval-ms:3600000}")
+    @Transactional
+    public void purgeProcessedEvents() {
+        int deleted = reportCounterRepository.deleteProcessedBefore(LocalDateTime.now().minus(processedRetention));
+        if (deleted > 0) {
+            log.info("Purged {} processed report event id(s)", deleted);
+        }
+    }
+}
@@ -1,14 +1,15 @@
 package org.example.userservice.service;
 
 import lombok.extern.slf4j.Slf4j;
+import org.example.userservice.cache.UserProfileCache;
 import org.example.userservice.dto.*;
 import org.example.userservice.entity.User;
 import org.example.userservice.event.AuditEvent;
 import org.example.userservice.messaging.AuditEventPublisher;
 import org.example.userservice.repository.UserRepository;
 import org.example.userservice.security.JwtTokenProvider;
+import org.example.userservice.security.PasswordHasher;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,19 +21,23 @@ import java.util.Optional;
 public class UserService {
     private final UserRepository userRepository;
     private final JwtTokenProvider jwtTokenProvider;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final UserProfileCache userProfileCache;
     private final AuditEventPublisher auditEventPublisher;
 
     @Autowired
     public UserService(UserRepository userRepository, JwtTokenProvider jwtTokenProvider,
+                      PasswordHasher passwordHasher, UserProfileCache userProfileCache,
                       AuditEventPublisher auditEventPublisher) {
         this.userRepository = userRepository;
         this.jwtTokenProvider = jwtTokenProvider;
-        this.passwordEncoder = new BCryptPasswordEncoder();
+        this.passwordHasher = passwordHasher;
+        this.userProfileCache = userProfileCache;
         this.auditEventPublisher = auditEventPublisher;
     }
 
-    @Transactional
+    // Not @Transactional: BCrypt runs on the hashing executor and must not hold a pooled
+    // connection while it waits; save() opens its own transaction.
     public UserResponse register(RegisterRequest request) {
         log.info("Registering new user with username: {}", request.getUsername());
 
@@ -49,7 +54,7 @@ public class UserService {
         User user = User.builder()
                 .username(request.getUsername())
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(passwordHasher.encode(request.getPassword()))
                 .firstName(request.getFirstName())
                 .lastName(request.getLastName())
                 .phone(request.getPhone())
@@ -65,7 +70,7 @@ public class UserService {
         return mapToUserResponse(savedUser);
     }
 
-    @Transactional(readOnly = true)
+    // Not @Transactional for the same reason as register()
     public LoginResponse login(LoginRequest request) {
         log.info("User login attempt for username: {}", request.getUsername());
 
@@ -75,11 +80,13 @@ public class UserService {
                     return new IllegalArgumentException("Invalid username or password");
                 });
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordHasher.matches(request.getPassword(), user.getPassword())) {
             log.warn("Invalid password for user: {}", request.getUsername());
             throw new IllegalArgumentException("Invalid username or password");
         }
 
+        rehashIfNeeded(user, request.getPassword());
+
         String token = jwtTokenProvider.generateToken(user.getUsername(), user.getId());
         log.info("Token generated successfully for user: {} (ID: {})", user.getUsername(), user.getId());
 
@@ -109,6 +116,24 @@ public class UserService {
         return mapToUserResponse(user);
     }
 
+    /**
+     * Profile of the authenticated user, served from the local cache. Not @Transactional
+     * so a cache hit never touches the connection pool.
+     */
+    public UserResponse getCurrentUser(Long userId) {
+        return userProfileCache.get(userId, this::loadUserResponse);
+    }
+
+    private UserResponse loadUserResponse(Long id) {
+        log.debug("Loading profile of user {} into cache", id);
+        return userRepository.findById(id)
+                .map(this::mapToUserResponse)
+                .orElseThrow(() -> {
+                    log.warn("User not found with id: {}", id);
+                    return new IllegalArgumentException("User not found");
+                });
+    }
+
     @Transactional
     public UserResponse updateUser(Long id, UpdateUserRequest request) {
         log.info("Updating user with id: {}", id);
@@ -140,6 +165,7 @@ public class UserService {
         }
 
         User updatedUser = userRepository.save(user);
+        userProfileCache.invalidate(updatedUser.getId());
         log.info("User updated successfully with id: {}", updatedUser.getId());
 
         // Publish audit event
@@ -149,6 +175,24 @@ public class UserService {
         return mapToUserResponse(updatedUser);
     }
 
+    /**
+     * Re-encodes the password with the current cost factor while the plain text is at hand.
+     * Best effort: a busy hashing executor or a failed update never fails the login.
+     */
+    private void rehashIfNeeded(User user, String rawPassword) {
+        if (!passwordHasher.needsRehash(user.getPassword())) {
+            return;
+        }
+        try {
+            String newHash = passwordHasher.encode(rawPassword);
+            if (userRepository.updatePasswordHash(user.getId(), user.getPassword(), newHash) > 0) {
+                log.info("Rehashed password for user {} with the current BCrypt strength", user.getId());
+            }
+        } catch (Exception e) {
+            log.warn("Skipping password rehash for user {}: {}", user.getId(), e.getMessage());
+        }
+    }
+
     public UserResponse getUserByUsername(String username) {
         log.info("Getting user with username: {}", username);
         User user = userRepository.findByUsername(username)
@@ -0,0 +1,148 @@
+package org.example.userservice.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.userservice.event.AuditEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditEventPublisherTest {
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @TempDir
+    Path tempDir;
+
+    private ObjectMapper objectMapper;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private AuditEventPublisher publisher(int bufferSize, String policy) {
+        return new AuditEventPublisher(rabbitTemplate, objectMapper, meterRegistry, bufferSize, policy,
+                tempDir.resolve("audit-spill.ndjson").toString());
+    }
+
+    private AuditEvent event(String username) {
+        return AuditEvent.builder()
+                .eventType("USER")
+                .username(username)
+                .action("login")
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void executeInvokeCallbacks() {
+        when(rabbitTemplate.invoke(any())).thenAnswer(invocation ->
+                ((RabbitOperations.OperationsCallback<Object>) invocation.getArgument(0)).doInRabbit(rabbitTemplate));
+    }
+
+    @Test
+    void testPublishAuditDoesNotTouchBroker() {
+        AuditEventPublisher publisher = publisher(10, "drop-oldest");
+
+        publisher.publishAudit("login", event("testuser"));
+
+        verifyNoInteractions(rabbitTemplate);
+        assertEquals(1.0, meterRegistry.get("audit.publisher.queue.depth").gauge().value());
+    }
+
+    @Test
+    void testFlushSendsBatchAndWaitsForConfirms() {
+        executeInvokeCallbacks();
+        AuditEventPublisher publisher = publisher(10, "drop-oldest");
+
+        publisher.publishAudit("login", event("alice"));
+        publisher.publishAudit("update", event("bob"));
+        publisher.flush();
+
+        verify(rabbitTemplate).invoke(any());
+        verify(rabbitTemplate).convertAndSend(eq("cityfix.audit"), eq("audit.login"), any(AuditEvent.class));
+        verify(rabbitTemplate).convertAndSend(eq("cityfix.audit"), eq("audit.update"), any(AuditEvent.class));
+        verify(rabbitTemplate).waitForConfirmsOrDie(anyLong());
+        assertEquals(2.0, meterRegistry.counter("audit.publisher.published").count());
+        assertEquals(0.0, meterRegistry.get("audit.publisher.queue.depth").gauge().value());
+    }
+
+    @Test
+    void testDropOldestEvictsWhenFull() {
+        executeInvokeCallbacks();
+        AuditEventPublisher publisher = publisher(1, "drop-oldest");
+
+        publisher.publishAudit("login", event("first"));
+        publisher.publishAudit("login", event("second"));
+        publisher.flush();
+
+        verify(rabbitTemplate).convertAndSend(eq("cityfix.audit"), eq("audit.login"),
+                argThat((AuditEvent e) -> "second".equals(e.getUsername())));
+        assertEquals(1.0, meterRegistry.counter("audit.publisher.dropped", "reason", "overflow").count());
+    }
+
+    @Test
+    void testBlockDropsNewEventAfterTimeout() {
+        AuditEventPublisher publisher = publisher(1, "block");
+
+        publisher.publishAudit("login", event("first"));
+        publisher.publishAudit("login", event("second"));
+
+        assertEquals(1.0, meterRegistry.counter("audit.publisher.dropped", "reason", "timeout").count());
+    }
+
+    @Test
+    void testSpillWritesOverflowAndReplaysIt() throws Exception {
+        executeInvokeCallbacks();
+        AuditEventPublisher publisher = publisher(1, "spill");
+
+        publisher.publishAudit("login", event("buffered"));
+        publisher.publishAudit("login", event("spilled"));
+
+        Path spillFile = tempDir.resolve("audit-spill.ndjson");
+        assertEquals(1, Files.readAllLines(spillFile).size());
+        assertEquals(1.0, meterRegistry.counter("audit.publisher.spilled").count());
+
+        publisher.replaySpill();
+
+        verify(rabbitTemplate).convertAndSend(eq("cityfix.audit"), eq("audit.login"),
+                argThat((AuditEvent e) -> "spilled".equals(e.getUsername())));
+        assertFalse(Files.exists(spillFile));
+        assertFalse(Files.exists(tempDir.resolve("audit-spill.ndjson.replay")));
+    }
+
+    @Test
+    void testReplayKeepsSpillFileWhenBrokerFails() throws Exception {
+        when(rabbitTemplate.invoke(any())).thenThrow(new AmqpException("broker down"));
+        AuditEventPublisher publisher = publisher(1, "spill");
+
+        publisher.publishAudit("login", event("buffered"));
+        publisher.publishAudit("login", event("spilled"));
+
+        assertThrows(AmqpException.class, publisher::replaySpill);
+        assertTrue(Files.exists(tempDir.resolve("audit-spill.ndjson.replay")));
+    }
+}
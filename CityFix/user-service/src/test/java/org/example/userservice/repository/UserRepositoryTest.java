@@ -0,0 +1,55 @@
+package org.example.userservice.repository;
+
+import org.example.userservice.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// application.yml pins ddl-auto=validate and the PostgreSQL dialect; the embedded
+// test database needs its own
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import(ReportCounterRepository.class)
+class UserRepositoryTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ReportCounterRepository reportCounterRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void testSavingLoadedUserKeepsReportsCountIncrementedAfterLoad() {
+        Long id = userRepository.saveAndFlush(User.builder()
+                .username("testuser")
+                .email("test@example.com")
+                .password("hash")
+                .firstName("Old")
+                .build()).getId();
+        reportCounterRepository.incrementReportsCounts(Map.of(id, 2));
+        entityManager.clear();
+
+        User loaded = userRepository.findById(id).orElseThrow();
+        assertEquals(2, loaded.getReportsCount().intValue());
+        // A report.created batch lands between loading and saving the profile
+        reportCounterRepository.incrementReportsCounts(Map.of(id, 1));
+        loaded.setFirstName("New");
+        userRepository.saveAndFlush(loaded);
+        entityManager.clear();
+
+        User stored = userRepository.findById(id).orElseThrow();
+        assertEquals("New", stored.getFirstName());
+        assertEquals(3, stored.getReportsCount().intValue());
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.userservice.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenProviderTest {
+    private static final String SECRET = "test-secret-key-that-is-long-enough-for-hs512-signatures-0123456789abcdef";
+
+    private JwtTokenProvider jwtTokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenProvider = new JwtTokenProvider(SECRET, 60_000, 100);
+    }
+
+    @Test
+    void testVerifyReturnsPrincipal() {
+        String token = jwtTokenProvider.generateToken("testuser", 42L);
+
+        Optional<JwtPrincipal> principal = jwtTokenProvider.verify(token);
+
+        assertTrue(principal.isPresent());
+        assertEquals(42L, principal.get().getUserId());
+        assertEquals("testuser", principal.get().getName());
+        assertFalse(principal.get().isExpired());
+    }
+
+    @Test
+    void testVerifyCachesVerifiedToken() {
+        String token = jwtTokenProvider.generateToken("testuser", 42L);
+
+        JwtPrincipal first = jwtTokenProvider.verify(token).orElseThrow();
+        JwtPrincipal second = jwtTokenProvider.verify(token).orElseThrow();
+
+        assertSame(first, second);
+    }
+
+    @Test
+    void testVerifyRejectsTamperedToken() {
+        String token = jwtTokenProvider.generateToken("testuser", 42L);
+        int i = token.length() - 10;
+        String tampered = token.substring(0, i) + (token.charAt(i) == 'a' ? 'b' : 'a') + token.substring(i + 1);
+
+        assertTrue(jwtTokenProvider.verify(tampered).isEmpty());
+        assertFalse(jwtTokenProvider.validateToken("not-a-jwt"));
+    }
+
+    @Test
+    void testVerifyRejectsTokenSignedWithOtherKey() {
+        JwtTokenProvider other = new JwtTokenProvider(SECRET.replace('0', 'x'), 60_000, 100);
+        String token = other.generateToken("testuser", 42L);
+
+        assertTrue(jwtTokenProvider.verify(token).isEmpty());
+    }
+
+    @Test
+    void testExpiredTokenIsRejected() {
+        JwtTokenProvider shortLived = new JwtTokenProvider(SECRET, -1_000, 100);
+        String token = shortLived.generateToken("testuser", 42L);
+
+        assertTrue(shortLived.verify(token).isEmpty());
+    }
+}
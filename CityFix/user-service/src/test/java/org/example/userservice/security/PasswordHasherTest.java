@@ -0,0 +1,98 @@
+package org.example.userservice.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.userservice.exception.PasswordHashingBusyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHasherTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ThreadPoolExecutor executor;
+    private PasswordHasher hasher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+        hasher = new PasswordHasher(meterRegistry, executor, 4, Duration.ofMillis(200), Duration.ofSeconds(3));
+    }
+
+    @AfterEach
+    void tearDown() {
+        hasher.destroy();
+    }
+
+    @Test
+    void testEncodeAndMatchRecordOutcomes() {
+        String hash = hasher.encode("secret");
+
+        assertTrue(hasher.matches("secret", hash));
+        assertFalse(hasher.matches("wrong", hash));
+        assertEquals(1, meterRegistry.get("password.hashing.duration")
+                .tags("operation", "encode", "outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get("password.hashing.duration")
+                .tags("operation", "verify", "outcome", "mismatch").timer().count());
+    }
+
+    @Test
+    void testRejectsWhenQueueFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> awaitQuietly(release));
+        executor.execute(() -> awaitQuietly(release));
+
+        PasswordHashingBusyException ex = assertThrows(PasswordHashingBusyException.class,
+                () -> hasher.encode("secret"));
+
+        assertEquals(3, ex.getRetryAfterSeconds());
+        assertEquals(1, meterRegistry.get("password.hashing.duration")
+                .tags("outcome", "rejected").timer().count());
+        release.countDown();
+    }
+
+    @Test
+    void testTimesOutWhenQueuedTooLong() {
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> awaitQuietly(release));
+
+        assertThrows(PasswordHashingBusyException.class, () -> hasher.encode("secret"));
+
+        assertEquals(1, meterRegistry.get("password.hashing.duration")
+                .tags("outcome", "timeout").timer().count());
+        release.countDown();
+    }
+
+    @Test
+    void testNeedsRehashOnAnyStrengthChange() {
+        assertTrue(hasher.needsRehash(new BCryptPasswordEncoder(5).encode("secret")));
+        assertFalse(hasher.needsRehash(new BCryptPasswordEncoder(4).encode("secret")));
+        assertTrue(new PasswordHasher(meterRegistry, executor, 6, Duration.ofSeconds(1), Duration.ofSeconds(1))
+                .needsRehash(new BCryptPasswordEncoder(5).encode("secret")));
+        assertFalse(hasher.needsRehash("not-a-bcrypt-hash"));
+    }
+
+    @Test
+    void testCostOf() {
+        assertEquals(10, PasswordHasher.costOf("$2a$10$abcdefghijklmnopqrstuv"));
+        assertEquals(12, PasswordHasher.costOf("$2y$12$abcdefghijklmnopqrstuv"));
+        assertNull(PasswordHasher.costOf(null));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.userservice.service;
+
+import org.example.userservice.cache.UserProfileCache;
+import org.example.userservice.event.ReportCreatedEvent;
+import org.example.userservice.repository.ReportCounterRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportCounterServiceTest {
+
+    @Mock
+    private ReportCounterRepository reportCounterRepository;
+
+    @Mock
+    private UserProfileCache userProfileCache;
+
+    private ReportCounterService reportCounterService;
+
+    @BeforeEach
+    void setUp() {
+        reportCounterService = new ReportCounterService(reportCounterRepository, userProfileCache);
+    }
+
+    private ReportCreatedEvent event(Long reportId, Long userId) {
+        return ReportCreatedEvent.builder().reportId(reportId).userId(userId).build();
+    }
+
+    @Test
+    void testApplyReportsCreatedAggregatesPerUser() {
+        when(reportCounterRepository.markProcessed(any())).thenReturn(Set.of(1L, 2L, 3L));
+        when(reportCounterRepository.incrementReportsCounts(any())).thenReturn(List.of());
+
+        int applied = reportCounterService.applyReportsCreated(List.of(
+                event(1L, 10L), event(2L, 10L), event(3L, 20L)));
+
+        assertEquals(3, applied);
+        verify(reportCounterRepository).incrementReportsCounts(Map.of(10L, 2, 20L, 1));
+        verify(userProfileCache).invalidateAll(Set.of(10L, 20L));
+    }
+
+    @Test
+    void testApplyReportsCreatedSkipsAlreadyProcessedAndDuplicates() {
+        when(reportCounterRepository.markProcessed(Set.of(1L, 2L))).thenReturn(Set.of(2L));
+        when(reportCounterRepository.incrementReportsCounts(any())).thenReturn(List.of());
+
+        int applied = reportCounterService.applyReportsCreated(List.of(
+                event(1L, 10L), event(2L, 10L), event(2L, 10L)));
+
+        assertEquals(1, applied);
+        verify(reportCounterRepository).incrementReportsCounts(Map.of(10L, 1));
+    }
+
+    @Test
+    void testApplyReportsCreatedIgnoresIncompleteEvents() {
+        when(reportCounterRepository.markProcessed(Set.of())).thenReturn(Set.of());
+        when(reportCounterRepository.incrementReportsCounts(Map.of())).thenReturn(List.of());
+
+        int applied = reportCounterService.applyReportsCreated(List.of(event(null, 10L), event(5L, null)));
+
+        assertEquals(0, applied);
+    }
+}
@@ -4,7 +4,10 @@ import org.example.userservice.dto.*;
 import org.example.userservice.entity.User;
 import org.example.userservice.messaging.AuditEventPublisher;
 import org.example.userservice.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.userservice.cache.UserProfileCache;
 import org.example.userservice.security.JwtTokenProvider;
+import org.example.userservice.security.PasswordHasher;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,6 +15,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Optional;
 
@@ -37,7 +41,11 @@ class UserServiceTest {
     @BeforeEach
     void setUp() {
         passwordEncoder = new BCryptPasswordEncoder();
-        userService = new UserService(userRepository, jwtTokenProvider, auditEventPublisher);
+        PasswordHasher passwordHasher = new PasswordHasher(new SimpleMeterRegistry(), 10, 2, 16,
+                Duration.ofSeconds(5), Duration.ofSeconds(1));
+        UserProfileCache userProfileCache = new UserProfileCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+        userService = new UserService(userRepository, jwtTokenProvider, passwordHasher, userProfileCache,
+                auditEventPublisher);
     }
 
     @Test
@@ -140,6 +148,53 @@ class UserServiceTest {
         verify(auditEventPublisher).publishAudit(eq("login"), any());
     }
 
+    @Test
+    void testLoginRehashesPasswordWithOutdatedStrength() {
+        LoginRequest request = LoginRequest.builder()
+                .username("testuser")
+                .password("SecurePass123")
+                .build();
+
+        String oldHash = new BCryptPasswordEncoder(4).encode("SecurePass123");
+        User user = User.builder()
+                .id(1L)
+                .username("testuser")
+                .email("test@example.com")
+                .password(oldHash)
+                .build();
+
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(jwtTokenProvider.generateToken("testuser", 1L)).thenReturn("jwt-token");
+        when(userRepository.updatePasswordHash(eq(1L), eq(oldHash), anyString())).thenReturn(1);
+
+        userService.login(request);
+
+        verify(userRepository).updatePasswordHash(eq(1L), eq(oldHash),
+                argThat(hash -> hash.startsWith("$2a$10$") && passwordEncoder.matches("SecurePass123", hash)));
+    }
+
+    @Test
+    void testLoginDoesNotRehashCurrentStrength() {
+        LoginRequest request = LoginRequest.builder()
+                .username("testuser")
+                .password("SecurePass123")
+                .build();
+
+        User user = User.builder()
+                .id(1L)
+                .username("testuser")
+                .email("test@example.com")
+                .password(passwordEncoder.encode("SecurePass123"))
+                .build();
+
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(jwtTokenProvider.generateToken("testuser", 1L)).thenReturn("jwt-token");
+
+        userService.login(request);
+
+        verify(userRepository, never()).updatePasswordHash(anyLong(), anyString(), anyString());
+    }
+
     @Test
     void testLoginUserNotFound() {
         LoginRequest request = LoginRequest.builder()
@@ -198,6 +253,47 @@ class UserServiceTest {
         verify(userRepository).findById(1L);
     }
 
+    @Test
+    void testGetCurrentUserServedFromCache() {
+        User user = User.builder()
+                .id(1L)
+                .username("testuser")
+                .email("test@example.com")
+                .reportsCount(2)
+                .build();
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        UserResponse first = userService.getCurrentUser(1L);
+        UserResponse second = userService.getCurrentUser(1L);
+
+        assertEquals("testuser", first.getUsername());
+        assertSame(first, second);
+        verify(userRepository, times(1)).findById(1L);
+        verify(userRepository, never()).findByUsername(anyString());
+    }
+
+    @Test
+    void testUpdateUserEvictsCachedProfile() {
+        User user = User.builder()
+                .id(1L)
+                .username("testuser")
+                .email("test@example.com")
+                .firstName("Old")
+                .build();
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertEquals("Old", userService.getCurrentUser(1L).getFirstName());
+
+        UpdateUserRequest request = UpdateUserRequest.builder().firstName("New").build();
+        userService.updateUser(1L, request);
+
+        assertEquals("New", userService.getCurrentUser(1L).getFirstName());
+        verify(userRepository, times(3)).findById(1L);
+    }
+
     @Test
     void testGetUserByIdNotFound() {
         when(userRepository.findById(999L)).thenReturn(Optional.empty());
@@ -1,8 +1,11 @@
 rootProject.name = "CityFix"
 
+includeBuild("CityFix/common")
+
 include("CityFix:user-service")
 include("CityFix:report-service")
 include("CityFix:log-service")
 include("CityFix:gateway")
+include("CityFix:benchmarks")
 
 